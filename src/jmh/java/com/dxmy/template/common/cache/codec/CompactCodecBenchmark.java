@@ -0,0 +1,92 @@
+package com.dxmy.template.common.cache.codec;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 值编解码基准测试 - 对比原有 JSON 与 Smile / CBOR (可选 LZ4 压缩) 的编码耗时, 解码耗时与编码大小
+ * <p>
+ * 编码大小在初始化时输出, 运行方式见 pom.xml 中的 jmh 配置
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactCodecBenchmark {
+
+    /** 序列化格式 */
+    @Param({"JSON", "SMILE", "CBOR"})
+    private CodecFormat format;
+    /** 启用 LZ4 压缩的最小字节数 (0 表示不压缩) */
+    @Param({"0", "1024"})
+    private int compressThreshold;
+    /** 值中的记录数, 1 为单个对象, 200 为列表 */
+    @Param({"1", "200"})
+    private int records;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        serializer = format == CodecFormat.JSON
+                ? new GenericJackson2JsonRedisSerializer()
+                : new CompactRedisSerializer(new CompactCodec(format, compressThreshold));
+
+        List<Sample> samples = new ArrayList<>(records);
+        for (int i = 0; i < records; i++)
+            samples.add(new Sample((long) i, "用户-" + i, "user" + i + "@example.com", i % 3 == 0,
+                    1704038400000L + i * 60_000L, new ArrayList<>(List.of("tag-a", "tag-b", "tag-" + i % 10))));
+        value = records == 1 ? samples.get(0) : samples;
+
+        encoded = serializer.serialize(value);
+        System.out.printf("%n[编码大小] 格式: %s, 压缩阈值: %d, 记录数: %d, 大小: %d 字节%n",
+                format, compressThreshold, records, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sample {
+
+        private Long id;
+        private String name;
+        private String email;
+        private Boolean enabled;
+        private Long createTime;
+        private List<String> tags;
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.dxmy.template.common.log;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 请求日志渲染基准测试 - 对比原有的立即拼接与 {@link BoundedText} 的延迟有界渲染
+ * <p>
+ * 立即拼接无论日志是否输出开销相同; lazyDisabled 模拟 DEBUG 关闭时仅创建参数对象的开销,
+ * lazyEnabled 模拟日志被输出时的开销; 运行方式见 pom.xml 中的 jmh 配置
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoundedTextBenchmark {
+
+    /** 单项日志内容的最大长度, 与 RequestLogAspect 一致 */
+    private static final int MAX_LOG_LENGTH = 1000;
+
+    /** 响应结果中的元素数 */
+    @Param({"10", "10000"})
+    private int responseSize;
+
+    private Map<String, String[]> parameterMap;
+    private List<Map<String, Object>> response;
+
+    @Setup
+    public void setup() {
+        parameterMap = new LinkedHashMap<>();
+        parameterMap.put("page", new String[]{"1"});
+        parameterMap.put("size", new String[]{"20"});
+        parameterMap.put("ids", new String[]{"1", "2", "3", "4", "5"});
+
+        response = new ArrayList<>(responseSize);
+        for (int i = 0; i < responseSize; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", (long) i);
+            item.put("name", "用户-" + i);
+            item.put("email", "user" + i + "@example.com");
+            response.add(item);
+        }
+    }
+
+    /**
+     * 立即拼接, 无论日志是否输出都构建完整字符串
+     */
+    @Benchmark
+    public String eager() {
+        return eagerParams() + eagerResponse();
+    }
+
+    @Benchmark
+    public Object lazyDisabled() {
+        // DEBUG 关闭时参数对象创建后即被丢弃, 不会渲染
+        return new Object[]{lazyParams(), BoundedText.of(response, MAX_LOG_LENGTH)};
+    }
+
+    @Benchmark
+    public String lazyEnabled() {
+        return lazyParams().toString() + BoundedText.of(response, MAX_LOG_LENGTH);
+    }
+
+    /**
+     * 原有实现: 拼接全部请求参数
+     */
+    private String eagerParams() {
+        return parameterMap.entrySet().stream().map(entry -> {
+            String[] value = entry.getValue();
+            return entry.getKey() + "=" + (value.length == 1 ? value[0] : Arrays.toString(value));
+        }).collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    /**
+     * 原有实现: 完整 toString 后截断
+     */
+    private String eagerResponse() {
+        String text = response.toString();
+        return text.length() > MAX_LOG_LENGTH ? text.substring(0, MAX_LOG_LENGTH) + "..." : text;
+    }
+
+    /**
+     * 现有实现: 请求参数的有界渲染, 与 RequestLogAspect 一致
+     */
+    private BoundedText lazyParams() {
+        return new BoundedText(MAX_LOG_LENGTH) {
+            @Override
+            protected void render(Output out) {
+                out.append('(');
+                boolean first = true;
+                for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+                    if (!first)
+                        out.append(", ");
+                    first = false;
+                    String[] value = entry.getValue();
+                    out.append(entry.getKey()).append('=').appendValue(value.length == 1 ? value[0] : value);
+                }
+                out.append(')');
+            }
+        };
+    }
+
+}
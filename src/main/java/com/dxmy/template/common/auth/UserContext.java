@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.slf4j.MDC;
 
 /**
  * 用户上下文
@@ -14,6 +15,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class UserContext {
 
+    /** MDC 中的用户 ID 键, 用于日志输出 */
+    public static final String USER_ID_KEY = "userId";
+
     private static final ThreadLocal<UserContext> THREAD_LOCAL_USER_CONTEXT = new ThreadLocal<>();
 
     /** 用户相关信息 */
@@ -31,6 +35,10 @@ public class UserContext {
      */
     public static void setCurrentUser(UserContext userContext) {
         THREAD_LOCAL_USER_CONTEXT.set(userContext);
+        if (userContext != null && userContext.getId() != null)
+            MDC.put(USER_ID_KEY, userContext.getId().toString());
+        else
+            MDC.remove(USER_ID_KEY);
     }
 
     /**
@@ -38,6 +46,7 @@ public class UserContext {
      */
     public static void clear() {
         THREAD_LOCAL_USER_CONTEXT.remove();
+        MDC.remove(USER_ID_KEY);
     }
 
     /**
@@ -0,0 +1,35 @@
+package com.dxmy.template.common.cache;
+
+import lombok.Builder;
+import lombok.Data;
+import org.redisson.api.options.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.options.LocalCachedMapOptions.ReconnectionStrategy;
+import org.redisson.api.options.LocalCachedMapOptions.SyncStrategy;
+
+import java.time.Duration;
+
+/**
+ * 本地缓存哈希表选项
+ */
+@Data
+@Builder
+public class LocalMapOptions {
+
+    /** 本地缓存淘汰策略 */
+    @Builder.Default
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+    /** 本地缓存最大条目数 (0 表示不限制) */
+    @Builder.Default
+    private Integer cacheSize = 1000;
+    /** 本地缓存条目的存活时间 (null 表示不过期) */
+    private Duration timeToLive;
+    /** 本地缓存条目的最大空闲时间 (null 表示不过期) */
+    private Duration maxIdle;
+    /** 与 Redis 重新连接后的本地缓存处理策略 */
+    @Builder.Default
+    private ReconnectionStrategy reconnectionStrategy = ReconnectionStrategy.CLEAR;
+    /** 哈希表变更时各节点本地缓存的同步策略 */
+    @Builder.Default
+    private SyncStrategy syncStrategy = SyncStrategy.INVALIDATE;
+
+}
@@ -0,0 +1,22 @@
+package com.dxmy.template.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 本地缓存哈希表统计信息
+ */
+@Data
+@AllArgsConstructor
+public class LocalMapStats {
+
+    /** 本地缓存命中次数 */
+    private Long hits;
+    /** 本地缓存未命中次数 */
+    private Long misses;
+    /** 本地缓存命中率 */
+    private Double hitRatio;
+    /** 本地缓存当前条目数 */
+    private Integer localSize;
+
+}
@@ -0,0 +1,231 @@
+package com.dxmy.template.common.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Redis 异步服务接口
+ * <p>
+ * 与 {@link RedisService} 中的读写方法一一对应, 调用时不阻塞当前线程; 返回 Redisson 对象的方法 (队列, 哈希表, 锁等),
+ * 本地缓存哈希表与批量执行不提供异步版本, 可直接使用 Redisson 对象的 *Async 方法.
+ * 可容忍复制延迟的只读方法与同步版本一样在开启从节点读取时由从节点读取.
+ * <p>
+ * 调用线程的用户上下文与 MDC (TraceID) 会传递到完成回调中; 回调运行在 Redis 客户端的 I/O 线程上,
+ * 耗时操作应使用 *Async 系列方法切换线程
+ */
+@SuppressWarnings("unused")
+public interface RedisAsyncService {
+
+    /**
+     * 设置指定 key 的值
+     *
+     * @param key   键
+     * @param value 值
+     * @param <T>   值的类型
+     */
+    <T> CompletableFuture<Void> setValue(String key, T value);
+
+    /**
+     * 设置指定 key 的值, 并指定过期时间
+     *
+     * @param key     键
+     * @param value   值
+     * @param expired 过期时间 (毫秒)
+     * @param <T>     值的类型
+     */
+    <T> CompletableFuture<Void> setValue(String key, T value, long expired);
+
+    /**
+     * 获取指定 key 的值
+     *
+     * @param key 键
+     * @param <T> 值的类型
+     * @return 值, 若 key 不存在则为 null
+     */
+    <T> CompletableFuture<T> getValue(String key);
+
+    /**
+     * 批量设置多个 key 的值
+     *
+     * @param values 键值对
+     * @param <T>    值的类型
+     */
+    <T> CompletableFuture<Void> setValues(Map<String, T> values);
+
+    /**
+     * 批量设置多个 key 的值, 并指定过期时间 (一次网络往返)
+     *
+     * @param values  键值对
+     * @param expired 过期时间 (毫秒)
+     * @param <T>     值的类型
+     */
+    <T> CompletableFuture<Void> setValues(Map<String, T> values, long expired);
+
+    /**
+     * 批量获取多个 key 的值
+     *
+     * @param keys 键
+     * @param <T>  值的类型
+     * @return 键值对, 不包含不存在的 key
+     */
+    <T> CompletableFuture<Map<String, T>> getValues(Collection<String> keys);
+
+    /**
+     * 使指定 key 的值自增
+     *
+     * @param key 键
+     * @return 自增后的值
+     */
+    CompletableFuture<Long> incr(String key);
+
+    /**
+     * 使指定 key 的值自增 (指定变化量)
+     *
+     * @param key   键
+     * @param delta 变化量
+     * @return 自增后的值
+     */
+    CompletableFuture<Long> incrBy(String key, long delta);
+
+    /**
+     * 使指定 key 的值自减
+     *
+     * @param key 键
+     * @return 自减后的值
+     */
+    CompletableFuture<Long> decr(String key);
+
+    /**
+     * 使指定 key 的值自减 (指定变化量)
+     *
+     * @param key   键
+     * @param delta 变化量
+     * @return 自减后的值
+     */
+    CompletableFuture<Long> decrBy(String key, long delta);
+
+    /**
+     * 移除指定 key 的值
+     *
+     * @param key 键
+     */
+    CompletableFuture<Void> remove(String key);
+
+    /**
+     * 批量移除多个 key 的值
+     *
+     * @param keys 键
+     * @return 实际移除的 key 数量
+     */
+    CompletableFuture<Long> removeAll(Collection<String> keys);
+
+    /**
+     * 判断指定 key 是否存在
+     *
+     * @param key 键
+     * @return 指定 key 是否存在
+     */
+    CompletableFuture<Boolean> isExists(String key);
+
+    /**
+     * 批量判断多个 key 是否存在 (一次网络往返)
+     *
+     * @param keys 键
+     * @return 各 key 是否存在
+     */
+    CompletableFuture<Map<String, Boolean>> isExists(Collection<String> keys);
+
+    /**
+     * 将指定的值添加到集合中
+     *
+     * @param key   键
+     * @param value 值
+     */
+    CompletableFuture<Void> addToSet(String key, String value);
+
+    /**
+     * 判断指定的值是否为集合的成员
+     *
+     * @param key   键
+     * @param value 值
+     * @return 指定的值是否为集合的成员
+     */
+    CompletableFuture<Boolean> isSetMember(String key, String value);
+
+    /**
+     * 批量判断多个值是否为集合的成员 (一次网络往返)
+     *
+     * @param key    键
+     * @param values 值
+     * @return 各值是否为集合的成员
+     */
+    CompletableFuture<Map<String, Boolean>> isSetMembers(String key, Collection<String> values);
+
+    /**
+     * 将指定的值添加到列表中
+     *
+     * @param key   键
+     * @param value 值
+     */
+    CompletableFuture<Void> addToList(String key, String value);
+
+    /**
+     * 获取列表中指定索引的值
+     *
+     * @param key   键
+     * @param index 索引
+     * @return 列表中指定索引的值, 若索引超出范围则为 null
+     */
+    CompletableFuture<String> getFromList(String key, int index);
+
+    /**
+     * 将指定的键值对添加到哈希表中
+     *
+     * @param key   键
+     * @param field 字段
+     * @param value 值
+     */
+    CompletableFuture<Void> addToMap(String key, String field, String value);
+
+    /**
+     * 获取哈希表中指定字段的值
+     *
+     * @param key   键
+     * @param field 字段
+     * @return 哈希表中指定字段的值, 若字段不存在则为 null
+     */
+    CompletableFuture<String> getFromMap(String key, String field);
+
+    /**
+     * 获取哈希表中指定字段的值
+     *
+     * @param key   键
+     * @param field 字段
+     * @param <K>   字段的类型
+     * @param <V>   值的类型
+     * @return 哈希表中指定字段的值, 若字段不存在则为 null
+     */
+    <K, V> CompletableFuture<V> getFromMap(String key, K field);
+
+    /**
+     * 批量获取哈希表中多个字段的值 (一次网络往返)
+     *
+     * @param key    键
+     * @param fields 字段
+     * @param <K>    字段的类型
+     * @param <V>    值的类型
+     * @return 字段值对, 不包含不存在的字段
+     */
+    <K, V> CompletableFuture<Map<K, V>> getAllFromMap(String key, Set<K> fields);
+
+    /**
+     * 将指定的值添加到有序集合中
+     *
+     * @param key   键
+     * @param value 值
+     */
+    CompletableFuture<Void> addToSortedSet(String key, String value);
+
+}
@@ -1,14 +1,25 @@
 package com.dxmy.template.common.cache;
 
+import com.dxmy.template.common.cache.codec.CodecFormat;
+import com.dxmy.template.common.cache.codec.CompactCodec;
+import com.dxmy.template.common.cache.codec.CompactRedissonCodec;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
 import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.config.BaseConfig;
+import org.redisson.config.BaseMasterSlaveServersConfig;
 import org.redisson.config.Config;
+import org.redisson.config.ReadMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+
 /**
  * Redis 客户端配置
  */
@@ -16,26 +27,124 @@ import org.springframework.util.StringUtils;
 @EnableConfigurationProperties(RedisClientProperties.class)
 public class RedisClientConfig {
 
+    /** 地址协议前缀 */
+    private static final String ADDRESS_PREFIX = "redis://";
+
+    /**
+     * 主客户端, 只读命令按配置的读取模式 (默认 MASTER) 路由
+     */
     @Bean
+    @Primary
     public RedissonClient redissonClient(RedisClientProperties properties) {
+        return createClient(properties, properties.getRedisson().getReadMode());
+    }
+
+    /**
+     * 从节点读取客户端, 仅供可容忍复制延迟的只读调用 (getValue, isExists, getFromMap) 使用
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.data.redis.redisson", name = "replica-reads", havingValue = "true")
+    public RedissonClient replicaRedissonClient(RedisClientProperties properties) {
+        return createClient(properties, ReadMode.SLAVE);
+    }
+
+    private RedissonClient createClient(RedisClientProperties properties, ReadMode readMode) {
         Config config = new Config();
+        config.setCodec(createCodec(properties.getCodec()));
 
-        config.setCodec(new JsonJacksonCodec())
-              .useSingleServer()
-              .setAddress("redis://" + properties.getHost() + ":" + properties.getPort())
-              .setUsername(StringUtils.hasText(properties.getUsername()) ? properties.getUsername() : null)
-              .setPassword(StringUtils.hasText(properties.getPassword()) ? properties.getPassword() : null)
-              .setDatabase(properties.getDatabase())
-              .setConnectTimeout(properties.getTimeout())
-              .setConnectionPoolSize(properties.getRedisson().getPoolSize())
-              .setConnectionMinimumIdleSize(properties.getRedisson().getMinIdleSize())
-              .setIdleConnectionTimeout(properties.getRedisson().getIdleTimeout())
-              .setRetryAttempts(properties.getRedisson().getRetryAttempts())
-              .setRetryInterval(properties.getRedisson().getRetryInterval())
-              .setPingConnectionInterval(properties.getRedisson().getPingInterval())
-              .setKeepAlive(properties.getRedisson().getKeepAlive());
+        switch (properties.getMode()) {
+            case SENTINEL -> configureSentinel(config, properties, readMode);
+            case MASTER_REPLICA -> configureMasterReplica(config, properties, readMode);
+            case CLUSTER -> configureCluster(config, properties, readMode);
+            default -> configureSingle(config, properties);
+        }
 
         return Redisson.create(config);
     }
 
+    /**
+     * 单节点模式
+     */
+    private void configureSingle(Config config, RedisClientProperties properties) {
+        applyCommon(config.useSingleServer(), properties)
+                .setAddress(toAddress(properties.getHost() + ":" + properties.getPort()))
+                .setDatabase(properties.getDatabase())
+                .setConnectionPoolSize(properties.getRedisson().getPoolSize())
+                .setConnectionMinimumIdleSize(properties.getRedisson().getMinIdleSize());
+    }
+
+    /**
+     * 哨兵模式, 主节点由哨兵发现并自动故障转移
+     */
+    private void configureSentinel(Config config, RedisClientProperties properties, ReadMode readMode) {
+        applyReplicated(config.useSentinelServers(), properties, readMode)
+                .setMasterName(properties.getSentinel().getMaster())
+                .setDatabase(properties.getDatabase())
+                .addSentinelAddress(toAddresses(properties.getSentinel().getNodes()));
+    }
+
+    /**
+     * 主从模式, 主节点为 host:port
+     */
+    private void configureMasterReplica(Config config, RedisClientProperties properties, ReadMode readMode) {
+        applyReplicated(config.useMasterSlaveServers(), properties, readMode)
+                .setMasterAddress(toAddress(properties.getHost() + ":" + properties.getPort()))
+                .setDatabase(properties.getDatabase())
+                .addSlaveAddress(toAddresses(properties.getReplica().getNodes()));
+    }
+
+    /**
+     * 集群模式, 集群不支持选择数据库
+     */
+    private void configureCluster(Config config, RedisClientProperties properties, ReadMode readMode) {
+        applyReplicated(config.useClusterServers(), properties, readMode)
+                .addNodeAddress(toAddresses(properties.getCluster().getNodes()));
+    }
+
+    /**
+     * 应用各模式通用的连接属性
+     */
+    private <T extends BaseConfig<T>> T applyCommon(T serverConfig, RedisClientProperties properties) {
+        RedisClientProperties.RedissonProperties redisson = properties.getRedisson();
+        return serverConfig.setUsername(StringUtils.hasText(properties.getUsername()) ? properties.getUsername() : null)
+                           .setPassword(StringUtils.hasText(properties.getPassword()) ? properties.getPassword() : null)
+                           .setConnectTimeout(properties.getTimeout())
+                           .setIdleConnectionTimeout(redisson.getIdleTimeout())
+                           .setRetryAttempts(redisson.getRetryAttempts())
+                           .setRetryInterval(redisson.getRetryInterval())
+                           .setPingConnectionInterval(redisson.getPingInterval())
+                           .setKeepAlive(redisson.getKeepAlive());
+    }
+
+    /**
+     * 应用主从类模式的连接属性, 主从节点分别使用各自的连接池, 只读命令按读取模式路由
+     */
+    private <T extends BaseMasterSlaveServersConfig<T>> T applyReplicated(T serverConfig, RedisClientProperties properties,
+            ReadMode readMode) {
+        RedisClientProperties.RedissonProperties redisson = properties.getRedisson();
+        return applyCommon(serverConfig, properties)
+                .setReadMode(readMode)
+                .setMasterConnectionPoolSize(redisson.getMasterPoolSize())
+                .setMasterConnectionMinimumIdleSize(redisson.getMasterMinIdleSize())
+                .setSlaveConnectionPoolSize(redisson.getReplicaPoolSize())
+                .setSlaveConnectionMinimumIdleSize(redisson.getReplicaMinIdleSize());
+    }
+
+    private String toAddress(String node) {
+        return node.contains("://") ? node : ADDRESS_PREFIX + node;
+    }
+
+    private String[] toAddresses(List<String> nodes) {
+        return nodes.stream().map(this::toAddress).toArray(String[]::new);
+    }
+
+    /**
+     * 根据编解码属性创建编解码器
+     */
+    private Codec createCodec(RedisClientProperties.CodecProperties codecProperties) {
+        if (codecProperties.getFormat() == CodecFormat.JSON)
+            return new JsonJacksonCodec();
+        return new CompactRedissonCodec(new CompactCodec(codecProperties.getFormat(), codecProperties.getCompressThreshold()));
+    }
+
 }
@@ -1,8 +1,13 @@
 package com.dxmy.template.common.cache;
 
+import com.dxmy.template.common.cache.codec.CodecFormat;
 import lombok.Data;
+import org.redisson.config.ReadMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Redis 客户端属性
  */
@@ -16,7 +21,13 @@ public class RedisClientProperties {
     private String password;
     private Integer database = 0;
     private Integer timeout = 5000;
+    /** 部署模式 */
+    private RedisMode mode = RedisMode.SINGLE;
+    private SentinelProperties sentinel = new SentinelProperties();
+    private ReplicaProperties replica = new ReplicaProperties();
+    private ClusterProperties cluster = new ClusterProperties();
     private RedissonProperties redisson = new RedissonProperties();
+    private CodecProperties codec = new CodecProperties();
 
     /**
      * Redisson 属性
@@ -38,6 +49,71 @@ public class RedisClientProperties {
         private Integer pingInterval = 0;
         /** 是否保持长连接 */
         private Boolean keepAlive = true;
+        /** 主客户端的读取模式 (仅作用于哨兵, 主从与集群模式, 默认由主节点执行全部命令, 保证读到自己的写入) */
+        private ReadMode readMode = ReadMode.MASTER;
+        /** 是否将 getValue, isExists, getFromMap 路由到从节点 (创建独立的只读客户端, 可能读到复制延迟内的旧值) */
+        private Boolean replicaReads = false;
+        /** 主节点连接池的大小 */
+        private Integer masterPoolSize = 64;
+        /** 主节点连接池的最小空闲连接数 */
+        private Integer masterMinIdleSize = 10;
+        /** 每个从节点连接池的大小 */
+        private Integer replicaPoolSize = 64;
+        /** 每个从节点连接池的最小空闲连接数 */
+        private Integer replicaMinIdleSize = 10;
+
+    }
+
+    /**
+     * 哨兵属性
+     */
+    @Data
+    public static class SentinelProperties {
+
+        /** 主节点名称 */
+        private String master;
+        /** 哨兵节点地址 (host:port) */
+        private List<String> nodes = new ArrayList<>();
+
+    }
+
+    /**
+     * 主从属性, 主节点地址为 host:port
+     */
+    @Data
+    public static class ReplicaProperties {
+
+        /** 从节点地址 (host:port) */
+        private List<String> nodes = new ArrayList<>();
+
+    }
+
+    /**
+     * 集群属性
+     */
+    @Data
+    public static class ClusterProperties {
+
+        /** 集群初始节点地址 (host:port), 其余节点自动发现 */
+        private List<String> nodes = new ArrayList<>();
+
+    }
+
+    /**
+     * 编解码属性, 同时作用于 Spring Cache 与 Redisson 客户端
+     */
+    @Data
+    public static class CodecProperties {
+
+        /**
+         * 序列化格式, 默认为原有的 JSON 格式, 需显式配置 SMILE 或 CBOR 启用紧凑编码
+         * <p>
+         * 启用前所有节点须已部署可读取新格式的版本; Redisson 集合中以对象作为成员时, 新旧成员无法按值匹配,
+         * 详见 {@link com.dxmy.template.common.cache.codec.CompactRedissonCodec}
+         */
+        private CodecFormat format = CodecFormat.JSON;
+        /** 启用 LZ4 压缩的最小字节数 (小于等于 0 表示不压缩) */
+        private Integer compressThreshold = 1024;
 
     }
 
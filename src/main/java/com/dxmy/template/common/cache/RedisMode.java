@@ -0,0 +1,17 @@
+package com.dxmy.template.common.cache;
+
+/**
+ * Redis 部署模式
+ */
+public enum RedisMode {
+
+    /** 单节点 */
+    SINGLE,
+    /** 哨兵 */
+    SENTINEL,
+    /** 主从 (无自动故障转移) */
+    MASTER_REPLICA,
+    /** 集群 */
+    CLUSTER
+
+}
@@ -2,6 +2,11 @@ package com.dxmy.template.common.cache;
 
 import org.redisson.api.*;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * Redis 服务接口
  */
@@ -36,6 +41,32 @@ public interface RedisService {
      */
     <T> T getValue(String key);
 
+    /**
+     * 批量设置多个 key 的值 (一次网络往返)
+     *
+     * @param values 键值对
+     * @param <T>    值的类型
+     */
+    <T> void setValues(Map<String, T> values);
+
+    /**
+     * 批量设置多个 key 的值, 并指定过期时间 (一次网络往返)
+     *
+     * @param values  键值对
+     * @param expired 过期时间 (毫秒)
+     * @param <T>     值的类型
+     */
+    <T> void setValues(Map<String, T> values, long expired);
+
+    /**
+     * 批量获取多个 key 的值 (一次网络往返)
+     *
+     * @param keys 键
+     * @param <T>  值的类型
+     * @return 键值对, 不包含不存在的 key
+     */
+    <T> Map<String, T> getValues(Collection<String> keys);
+
     /**
      * 获取队列
      *
@@ -104,6 +135,14 @@ public interface RedisService {
      */
     void remove(String key);
 
+    /**
+     * 批量移除多个 key 的值 (一次网络往返)
+     *
+     * @param keys 键
+     * @return 实际移除的 key 数量
+     */
+    long removeAll(Collection<String> keys);
+
     /**
      * 判断指定 key 是否存在
      *
@@ -112,6 +151,14 @@ public interface RedisService {
      */
     boolean isExists(String key);
 
+    /**
+     * 批量判断多个 key 是否存在 (一次网络往返)
+     *
+     * @param keys 键
+     * @return 各 key 是否存在
+     */
+    Map<String, Boolean> isExists(Collection<String> keys);
+
     /**
      * 将指定的值添加到集合中
      *
@@ -129,6 +176,15 @@ public interface RedisService {
      */
     boolean isSetMember(String key, String value);
 
+    /**
+     * 批量判断多个值是否为集合的成员 (一次网络往返)
+     *
+     * @param key    键
+     * @param values 值
+     * @return 各值是否为集合的成员
+     */
+    Map<String, Boolean> isSetMembers(String key, Collection<String> values);
+
     /**
      * 将指定的值添加到列表中
      *
@@ -185,6 +241,52 @@ public interface RedisService {
      */
     <K, V> V getFromMap(String key, K field);
 
+    /**
+     * 批量获取哈希表中多个字段的值 (一次网络往返)
+     *
+     * @param key    键
+     * @param fields 字段
+     * @param <K>    字段的类型
+     * @param <V>    值的类型
+     * @return 字段值对, 不包含不存在的字段
+     */
+    <K, V> Map<K, V> getAllFromMap(String key, Set<K> fields);
+
+    /**
+     * 获取本地缓存哈希表, 读取时优先命中本地缓存, 适用于读多写少的配置类哈希表
+     * <p>
+     * 同一个 key 只创建一次, 之后的调用返回同一实例; 传入的选项与创建时不同时抛出 {@link IllegalStateException}.
+     * 经由返回的哈希表的同步 get / getAll 读取计入本地缓存统计
+     *
+     * @param key     键
+     * @param options 本地缓存选项
+     * @param <K>     字段的类型
+     * @param <V>     值的类型
+     * @return 本地缓存哈希表
+     */
+    <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String key, LocalMapOptions options);
+
+    /**
+     * 获取本地缓存哈希表中指定字段的值, 并统计本地缓存命中情况
+     * <p>
+     * 若该 key 的本地缓存哈希表尚未创建, 则按默认选项创建; 已创建时使用创建时的选项
+     *
+     * @param key   键
+     * @param field 字段
+     * @param <K>   字段的类型
+     * @param <V>   值的类型
+     * @return 哈希表中指定字段的值, 若字段不存在则返回 null
+     */
+    <K, V> V getFromLocalCachedMap(String key, K field);
+
+    /**
+     * 获取本地缓存哈希表的统计信息
+     *
+     * @param key 键
+     * @return 统计信息, 若该 key 的本地缓存哈希表尚未创建则返回 null
+     */
+    LocalMapStats getLocalCachedMapStats(String key);
+
     /**
      * 将指定的值添加到有序集合中
      *
@@ -241,6 +343,14 @@ public interface RedisService {
      */
     RCountDownLatch getCountDownLatch(String key);
 
+    /**
+     * 获取 Redis 限流器 (令牌桶)
+     *
+     * @param key 键
+     * @return Redis 限流器对象
+     */
+    RRateLimiter getRateLimiter(String key);
+
     /**
      * 获取 Redis 布隆过滤器
      *
@@ -250,4 +360,14 @@ public interface RedisService {
      */
     <T> RBloomFilter<T> getBloomFilter(String key);
 
+    /**
+     * 以管道方式批量执行多个命令 (一次网络往返)
+     * <p>
+     * 在回调中通过 RBatch 获取对象并调用其异步方法添加命令, 如 {@code batch.getBucket(key).getAsync()}
+     *
+     * @param operations 添加命令的回调
+     * @return 按添加顺序排列的执行结果
+     */
+    BatchResult<?> batch(Consumer<RBatch> operations);
+
 }
@@ -0,0 +1,227 @@
+package com.dxmy.template.common.cache;
+
+import com.dxmy.template.common.context.ContextSnapshot;
+import jakarta.annotation.Resource;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Redis 异步服务 - Redisson 实现
+ */
+@Service
+public class RedissonAsyncService implements RedisAsyncService {
+
+    @Resource
+    private RedissonClient redissonClient;
+    /** 从节点读取客户端, 未开启从节点读取时不存在 */
+    @Autowired(required = false)
+    @Qualifier("replicaRedissonClient")
+    private RedissonClient replicaRedissonClient;
+
+    @Override
+    public <T> CompletableFuture<Void> setValue(String key, T value) {
+        return propagate(redissonClient.<T>getBucket(key).setAsync(value));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> setValue(String key, T value, long expired) {
+        return propagate(redissonClient.<T>getBucket(key).setAsync(value, Duration.ofMillis(expired)));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getValue(String key) {
+        return propagate(readClient().<T>getBucket(key).getAsync());
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> setValues(Map<String, T> values) {
+        if (values.isEmpty())
+            return CompletableFuture.completedFuture(null);
+        return propagate(redissonClient.getBuckets().setAsync(values));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> setValues(Map<String, T> values, long expired) {
+        if (values.isEmpty())
+            return CompletableFuture.completedFuture(null);
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        values.forEach((key, value) -> batch.<T>getBucket(key).setAsync(value, Duration.ofMillis(expired)));
+        return propagateVoid(batch.executeAsync());
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getValues(Collection<String> keys) {
+        if (keys.isEmpty())
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        return propagate(redissonClient.getBuckets().getAsync(keys.toArray(new String[0])));
+    }
+
+    @Override
+    public CompletableFuture<Long> incr(String key) {
+        return propagate(redissonClient.getAtomicLong(key).incrementAndGetAsync());
+    }
+
+    @Override
+    public CompletableFuture<Long> incrBy(String key, long delta) {
+        return propagate(redissonClient.getAtomicLong(key).addAndGetAsync(delta));
+    }
+
+    @Override
+    public CompletableFuture<Long> decr(String key) {
+        return propagate(redissonClient.getAtomicLong(key).decrementAndGetAsync());
+    }
+
+    @Override
+    public CompletableFuture<Long> decrBy(String key, long delta) {
+        return propagate(redissonClient.getAtomicLong(key).addAndGetAsync(-delta));
+    }
+
+    @Override
+    public CompletableFuture<Void> remove(String key) {
+        return propagateVoid(redissonClient.getBucket(key).deleteAsync());
+    }
+
+    @Override
+    public CompletableFuture<Long> removeAll(Collection<String> keys) {
+        if (keys.isEmpty())
+            return CompletableFuture.completedFuture(0L);
+        return propagate(redissonClient.getKeys().deleteAsync(keys.toArray(new String[0])));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isExists(String key) {
+        return propagate(readClient().getBucket(key).isExistsAsync());
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Boolean>> isExists(Collection<String> keys) {
+        if (keys.isEmpty())
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+
+        List<String> keyList = new ArrayList<>(keys);
+        RBatch batch = readClient().createBatch(BatchOptions.defaults());
+        keyList.forEach(key -> batch.getBucket(key).isExistsAsync());
+        return propagate(batch.executeAsync().thenApply(batchResult -> {
+            List<?> responses = batchResult.getResponses();
+            Map<String, Boolean> result = new LinkedHashMap<>(keyList.size());
+            for (int i = 0; i < keyList.size(); i++)
+                result.put(keyList.get(i), (Boolean) responses.get(i));
+            return result;
+        }));
+    }
+
+    @Override
+    public CompletableFuture<Void> addToSet(String key, String value) {
+        return propagateVoid(redissonClient.getSet(key).addAsync(value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isSetMember(String key, String value) {
+        return propagate(redissonClient.getSet(key).containsAsync(value));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Boolean>> isSetMembers(String key, Collection<String> values) {
+        if (values.isEmpty())
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+
+        return propagate(redissonClient.<String>getSet(key).containsEachAsync(values).thenApply(contained -> {
+            Set<String> members = new HashSet<>(contained);
+            Map<String, Boolean> result = new LinkedHashMap<>(values.size());
+            for (String value : values)
+                result.put(value, members.contains(value));
+            return result;
+        }));
+    }
+
+    @Override
+    public CompletableFuture<Void> addToList(String key, String value) {
+        return propagateVoid(redissonClient.getList(key).addAsync(value));
+    }
+
+    @Override
+    public CompletableFuture<String> getFromList(String key, int index) {
+        return propagate(redissonClient.<String>getList(key).getAsync(index));
+    }
+
+    @Override
+    public CompletableFuture<Void> addToMap(String key, String field, String value) {
+        return propagateVoid(redissonClient.getMap(key).fastPutAsync(field, value));
+    }
+
+    @Override
+    public CompletableFuture<String> getFromMap(String key, String field) {
+        return propagate(readClient().<String, String>getMap(key).getAsync(field));
+    }
+
+    @Override
+    public <K, V> CompletableFuture<V> getFromMap(String key, K field) {
+        return propagate(readClient().<K, V>getMap(key).getAsync(field));
+    }
+
+    @Override
+    public <K, V> CompletableFuture<Map<K, V>> getAllFromMap(String key, Set<K> fields) {
+        if (fields.isEmpty())
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        return propagate(redissonClient.<K, V>getMap(key).getAllAsync(fields));
+    }
+
+    @Override
+    public CompletableFuture<Void> addToSortedSet(String key, String value) {
+        return propagateVoid(redissonClient.getSortedSet(key).addAsync(value));
+    }
+
+    /**
+     * 可容忍复制延迟的只读调用使用的客户端, 与 {@link RedissonService} 一致
+     */
+    private RedissonClient readClient() {
+        return replicaRedissonClient != null ? replicaRedissonClient : redissonClient;
+    }
+
+    /**
+     * 将 RFuture 转换为 CompletableFuture, 并在调用线程的上下文中完成, 使回调可获取用户上下文与 MDC
+     */
+    private <T> CompletableFuture<T> propagate(CompletionStage<T> future) {
+        ContextSnapshot snapshot = ContextSnapshot.capture();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, e) -> snapshot.run(() -> {
+            if (e != null)
+                result.completeExceptionally(e);
+            else
+                result.complete(value);
+        }));
+        return result;
+    }
+
+    /**
+     * 将 RFuture 转换为不关心结果的 CompletableFuture
+     */
+    private CompletableFuture<Void> propagateVoid(CompletionStage<?> future) {
+        ContextSnapshot snapshot = ContextSnapshot.capture();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        future.whenComplete((value, e) -> snapshot.run(() -> {
+            if (e != null)
+                result.completeExceptionally(e);
+            else
+                result.complete(null);
+        }));
+        return result;
+    }
+
+}
@@ -1,10 +1,21 @@
 package com.dxmy.template.common.cache;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
 import org.redisson.api.*;
+import org.redisson.api.options.LocalCachedMapOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 /**
  * Redis 服务 - Redisson 实现
@@ -14,6 +25,13 @@ public class RedissonService implements RedisService {
 
     @Resource
     private RedissonClient redissonClient;
+    /** 从节点读取客户端, 未开启从节点读取时不存在 */
+    @Autowired(required = false)
+    @Qualifier("replicaRedissonClient")
+    private RedissonClient replicaRedissonClient;
+
+    /** 已创建的本地缓存哈希表, 每个实例持有独立的本地缓存与失效订阅, 因此需复用 */
+    private final Map<String, LocalCachedMapHolder<?, ?>> localCachedMaps = new ConcurrentHashMap<>();
 
     @Override
     public <T> void setValue(String key, T value) {
@@ -27,7 +45,29 @@ public class RedissonService implements RedisService {
 
     @Override
     public <T> T getValue(String key) {
-        return redissonClient.<T>getBucket(key).get();
+        return readClient().<T>getBucket(key).get();
+    }
+
+    @Override
+    public <T> void setValues(Map<String, T> values) {
+        if (values.isEmpty())
+            return;
+        redissonClient.getBuckets().set(values);
+    }
+
+    @Override
+    public <T> void setValues(Map<String, T> values, long expired) {
+        if (values.isEmpty())
+            return;
+        batch(batch -> values.forEach((key, value) ->
+                batch.<T>getBucket(key).setAsync(value, Duration.ofMillis(expired))));
+    }
+
+    @Override
+    public <T> Map<String, T> getValues(Collection<String> keys) {
+        if (keys.isEmpty())
+            return Collections.emptyMap();
+        return redissonClient.getBuckets().get(keys.toArray(new String[0]));
     }
 
     @Override
@@ -70,9 +110,32 @@ public class RedissonService implements RedisService {
         redissonClient.getBucket(key).delete();
     }
 
+    @Override
+    public long removeAll(Collection<String> keys) {
+        if (keys.isEmpty())
+            return 0;
+        return redissonClient.getKeys().delete(keys.toArray(new String[0]));
+    }
+
     @Override
     public boolean isExists(String key) {
-        return redissonClient.getBucket(key).isExists();
+        return readClient().getBucket(key).isExists();
+    }
+
+    @Override
+    public Map<String, Boolean> isExists(Collection<String> keys) {
+        if (keys.isEmpty())
+            return Collections.emptyMap();
+
+        List<String> keyList = new ArrayList<>(keys);
+        RBatch batch = readClient().createBatch(BatchOptions.defaults());
+        keyList.forEach(key -> batch.getBucket(key).isExistsAsync());
+        List<?> responses = batch.execute().getResponses();
+
+        Map<String, Boolean> result = new LinkedHashMap<>(keyList.size());
+        for (int i = 0; i < keyList.size(); i++)
+            result.put(keyList.get(i), (Boolean) responses.get(i));
+        return result;
     }
 
     @Override
@@ -85,6 +148,18 @@ public class RedissonService implements RedisService {
         return redissonClient.getSet(key).contains(value);
     }
 
+    @Override
+    public Map<String, Boolean> isSetMembers(String key, Collection<String> values) {
+        if (values.isEmpty())
+            return Collections.emptyMap();
+
+        Set<String> members = new HashSet<>(redissonClient.<String>getSet(key).containsEach(values));
+        Map<String, Boolean> result = new LinkedHashMap<>(values.size());
+        for (String value : values)
+            result.put(value, members.contains(value));
+        return result;
+    }
+
     @Override
     public void addToList(String key, String value) {
         redissonClient.getList(key).add(value);
@@ -107,12 +182,47 @@ public class RedissonService implements RedisService {
 
     @Override
     public String getFromMap(String key, String field) {
-        return redissonClient.<String, String>getMap(key).get(field);
+        return readClient().<String, String>getMap(key).get(field);
     }
 
     @Override
     public <K, V> V getFromMap(String key, K field) {
-        return redissonClient.<K, V>getMap(key).get(field);
+        return readClient().<K, V>getMap(key).get(field);
+    }
+
+    @Override
+    public <K, V> Map<K, V> getAllFromMap(String key, Set<K> fields) {
+        if (fields.isEmpty())
+            return Collections.emptyMap();
+        return redissonClient.<K, V>getMap(key).getAll(fields);
+    }
+
+    @Override
+    public <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String key, LocalMapOptions options) {
+        LocalCachedMapHolder<K, V> holder = getLocalCachedMapHolder(key, options);
+        if (!holder.options.equals(options))
+            throw new IllegalStateException("本地缓存哈希表 " + key + " 已按不同的选项创建: " + holder.options);
+        return holder.countingMap;
+    }
+
+    @Override
+    public <K, V> V getFromLocalCachedMap(String key, K field) {
+        LocalCachedMapHolder<?, ?> holder = localCachedMaps.get(key);
+        if (holder == null)
+            holder = getLocalCachedMapHolder(key, LocalMapOptions.builder().build());
+        return this.<K, V>cast(holder).get(field);
+    }
+
+    @Override
+    public LocalMapStats getLocalCachedMapStats(String key) {
+        LocalCachedMapHolder<?, ?> holder = localCachedMaps.get(key);
+        if (holder == null)
+            return null;
+
+        long hits = holder.hits.sum();
+        long misses = holder.misses.sum();
+        double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new LocalMapStats(hits, misses, hitRatio, holder.map.getCachedMap().size());
     }
 
     @Override
@@ -150,9 +260,133 @@ public class RedissonService implements RedisService {
         return redissonClient.getCountDownLatch(key);
     }
 
+    @Override
+    public RRateLimiter getRateLimiter(String key) {
+        return redissonClient.getRateLimiter(key);
+    }
+
     @Override
     public <T> RBloomFilter<T> getBloomFilter(String key) {
         return redissonClient.getBloomFilter(key);
     }
 
+    @Override
+    public BatchResult<?> batch(Consumer<RBatch> operations) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        operations.accept(batch);
+        return batch.execute();
+    }
+
+    /**
+     * 销毁本地缓存哈希表, 释放本地缓存与失效订阅
+     */
+    @PreDestroy
+    public void destroyLocalCachedMaps() {
+        localCachedMaps.values().forEach(holder -> holder.map.destroy());
+        localCachedMaps.clear();
+    }
+
+    /**
+     * 获取只读调用使用的客户端, 开启从节点读取时为从节点读取客户端, 否则为主客户端
+     */
+    private RedissonClient readClient() {
+        return replicaRedissonClient != null ? replicaRedissonClient : redissonClient;
+    }
+
+    /**
+     * 获取或创建本地缓存哈希表, 已存在时返回已创建的实例
+     */
+    private <K, V> LocalCachedMapHolder<K, V> getLocalCachedMapHolder(String key, LocalMapOptions options) {
+        return cast(localCachedMaps.computeIfAbsent(key, k -> {
+            LocalCachedMapOptions<K, V> mapOptions = LocalCachedMapOptions.<K, V>name(k)
+                    .evictionPolicy(options.getEvictionPolicy())
+                    .cacheSize(options.getCacheSize())
+                    .reconnectionStrategy(options.getReconnectionStrategy())
+                    .syncStrategy(options.getSyncStrategy());
+            if (options.getTimeToLive() != null)
+                mapOptions.timeToLive(options.getTimeToLive());
+            if (options.getMaxIdle() != null)
+                mapOptions.maxIdle(options.getMaxIdle());
+            return new LocalCachedMapHolder<>(redissonClient.getLocalCachedMap(mapOptions), options);
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> LocalCachedMapHolder<K, V> cast(LocalCachedMapHolder<?, ?> holder) {
+        return (LocalCachedMapHolder<K, V>) holder;
+    }
+
+    /**
+     * 本地缓存哈希表及其命中统计
+     * <p>
+     * 对外返回统计命中的代理 ({@link #countingMap}), 经由代理的同步 get / getAll 读取均计入统计; 异步读取不统计
+     */
+    private static class LocalCachedMapHolder<K, V> {
+
+        private final RLocalCachedMap<K, V> map;
+        private final RLocalCachedMap<K, V> countingMap;
+        /** 创建时的选项 */
+        private final LocalMapOptions options;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        @SuppressWarnings("unchecked")
+        private LocalCachedMapHolder(RLocalCachedMap<K, V> map, LocalMapOptions options) {
+            this.map = map;
+            this.options = options;
+            this.countingMap = (RLocalCachedMap<K, V>) Proxy.newProxyInstance(RLocalCachedMap.class.getClassLoader(),
+                    new Class<?>[]{RLocalCachedMap.class}, (proxy, method, args) -> invoke(method, args));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object invoke(Method method, Object[] args) throws Throwable {
+            if (args != null && args.length == 1) {
+                if (method.getName().equals("get"))
+                    return get((K) args[0]);
+                if (method.getName().equals("getAll") && args[0] instanceof Set)
+                    return getAll((Set<K>) args[0]);
+            }
+            try {
+                return method.invoke(map, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        /**
+         * 本地缓存中存在时直接返回并计为命中, 否则由 Redis 读取并计为未命中
+         */
+        private V get(K field) {
+            V cached = map.getCachedMap().get(field);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            return map.get(field);
+        }
+
+        /**
+         * 逐个字段统计, 仅由 Redis 读取本地缓存中不存在的字段
+         */
+        private Map<K, V> getAll(Set<K> fields) {
+            Map<K, V> cachedMap = map.getCachedMap();
+            Map<K, V> result = new LinkedHashMap<>(fields.size());
+            Set<K> missed = new LinkedHashSet<>();
+            for (K field : fields) {
+                V cached = cachedMap.get(field);
+                if (cached != null)
+                    result.put(field, cached);
+                else
+                    missed.add(field);
+            }
+            hits.add(result.size());
+            misses.add(missed.size());
+            if (!missed.isEmpty())
+                result.putAll(map.getAll(missed));
+            return result;
+        }
+
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.dxmy.template.common.cache.codec;
+
+/**
+ * Redis 值的序列化格式
+ */
+public enum CodecFormat {
+
+    /** JSON 文本格式 (原有格式, 不启用紧凑编码与压缩) */
+    JSON,
+    /** Smile 二进制格式 */
+    SMILE,
+    /** CBOR 二进制格式 */
+    CBOR
+
+}
@@ -0,0 +1,226 @@
+package com.dxmy.template.common.cache.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import org.springframework.cache.support.NullValue;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 紧凑编解码器 - 二进制格式 (Smile / CBOR) + 超过阈值时的 LZ4 压缩
+ * <p>
+ * 编码结果的帧格式: [魔数 1 字节][标志 1 字节][原始长度 4 字节, 仅压缩时存在][负载]
+ * <p>
+ * 魔数不是合法的 JSON 起始字节, 解码方可据此区分旧的 JSON 数据并交由原有编解码器处理
+ */
+public class CompactCodec {
+
+    /** 帧头魔数 */
+    private static final byte MAGIC = (byte) 0xBE;
+    /** 帧标志 - 未压缩 */
+    private static final byte FLAG_PLAIN = 0;
+    /** 帧标志 - LZ4 压缩 */
+    private static final byte FLAG_LZ4 = 1;
+    /** 帧头长度 */
+    private static final int HEADER_LENGTH = 2;
+    /** 压缩帧中原始长度字段的长度 */
+    private static final int LENGTH_FIELD_LENGTH = 4;
+    /** 类型信息的属性名, 与 Jackson 默认类型信息一致 */
+    private static final String TYPE_PROPERTY = "@class";
+
+    private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+
+    private final ObjectMapper mapper;
+    /** 启用压缩的最小字节数, 小于等于 0 表示不压缩 */
+    private final int compressThreshold;
+
+    @SuppressWarnings("deprecation")
+    public CompactCodec(CodecFormat format, int compressThreshold) {
+        if (format == CodecFormat.JSON)
+            throw new IllegalArgumentException("紧凑编解码器不支持 JSON 格式");
+
+        JsonFactory factory = format == CodecFormat.CBOR ? new CBORFactory() : new SmileFactory();
+        this.mapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule()
+                        .addSerializer(NullValue.class, new NullValueSerializer())
+                        .addDeserializer(NullValue.class, new NullValueDeserializer()))
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        // 与 GenericJackson2JsonRedisSerializer 一致, 写入类型信息以便还原任意对象
+        this.mapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build(),
+                ObjectMapper.DefaultTyping.EVERYTHING,
+                JsonTypeInfo.As.PROPERTY
+        );
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * 判断数据是否为紧凑编码
+     *
+     * @param bytes 数据
+     * @return 是否为紧凑编码, 否则为旧的 JSON 数据
+     */
+    public static boolean isCompact(byte[] bytes) {
+        return bytes.length >= HEADER_LENGTH && bytes[0] == MAGIC;
+    }
+
+    /**
+     * 判断首字节是否为紧凑编码的魔数
+     *
+     * @param firstByte 首字节
+     * @return 是否为紧凑编码
+     */
+    public static boolean isCompact(byte firstByte) {
+        return firstByte == MAGIC;
+    }
+
+    /**
+     * 编码
+     *
+     * @param value 值
+     * @return 编码结果
+     */
+    public byte[] encode(Object value) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(value);
+        if (compressThreshold > 0 && payload.length >= compressThreshold) {
+            byte[] compressed = compress(payload);
+            if (compressed != null)
+                return compressed;
+        }
+
+        byte[] frame = new byte[HEADER_LENGTH + payload.length];
+        frame[0] = MAGIC;
+        frame[1] = FLAG_PLAIN;
+        System.arraycopy(payload, 0, frame, HEADER_LENGTH, payload.length);
+        return frame;
+    }
+
+    /**
+     * 解码
+     *
+     * @param bytes 紧凑编码的数据
+     * @return 值
+     */
+    public Object decode(byte[] bytes) throws IOException {
+        if (!isCompact(bytes))
+            throw new IOException("数据不是紧凑编码格式");
+
+        if (bytes[1] == FLAG_PLAIN)
+            return mapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, Object.class);
+        if (bytes[1] == FLAG_LZ4)
+            return mapper.readValue(decompress(bytes), Object.class);
+        throw new IOException("未知的紧凑编码标志: " + bytes[1]);
+    }
+
+    /**
+     * 压缩负载, 压缩后不能变小时返回 null
+     */
+    private byte[] compress(byte[] payload) {
+        LZ4Compressor compressor = LZ4_FACTORY.fastCompressor();
+        int offset = HEADER_LENGTH + LENGTH_FIELD_LENGTH;
+        int maxLength = compressor.maxCompressedLength(payload.length);
+
+        byte[] frame = new byte[offset + maxLength];
+        int compressedLength = compressor.compress(payload, 0, payload.length, frame, offset, maxLength);
+        if (compressedLength >= payload.length)
+            return null;
+
+        frame[0] = MAGIC;
+        frame[1] = FLAG_LZ4;
+        frame[2] = (byte) (payload.length >>> 24);
+        frame[3] = (byte) (payload.length >>> 16);
+        frame[4] = (byte) (payload.length >>> 8);
+        frame[5] = (byte) payload.length;
+        return Arrays.copyOf(frame, offset + compressedLength);
+    }
+
+    /**
+     * 解压负载
+     */
+    private byte[] decompress(byte[] frame) throws IOException {
+        if (frame.length < HEADER_LENGTH + LENGTH_FIELD_LENGTH)
+            throw new IOException("紧凑编码数据不完整");
+
+        int originalLength = (frame[2] & 0xFF) << 24 | (frame[3] & 0xFF) << 16 | (frame[4] & 0xFF) << 8 | frame[5] & 0xFF;
+        byte[] payload = new byte[originalLength];
+        LZ4_FACTORY.fastDecompressor().decompress(frame, HEADER_LENGTH + LENGTH_FIELD_LENGTH, payload, 0, originalLength);
+        return payload;
+    }
+
+    /**
+     * 空值占位符序列化器 - 与 GenericJackson2JsonRedisSerializer 一致, 仅写入类型信息
+     * <p>
+     * NullValue 没有可序列化的属性, 默认的 Bean 序列化器会因空 Bean 而失败
+     */
+    private static class NullValueSerializer extends StdSerializer<NullValue> {
+
+        private NullValueSerializer() {
+            super(NullValue.class);
+        }
+
+        @Override
+        public void serialize(NullValue value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField(TYPE_PROPERTY, NullValue.class.getName());
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void serializeWithType(NullValue value, JsonGenerator gen, SerializerProvider provider,
+                TypeSerializer typeSer) throws IOException {
+            serialize(value, gen, provider);
+        }
+
+    }
+
+    /**
+     * 空值占位符反序列化器 - 跳过剩余属性并返回单例, 以便缓存按引用识别空值
+     */
+    private static class NullValueDeserializer extends StdDeserializer<NullValue> {
+
+        private NullValueDeserializer() {
+            super(NullValue.class);
+        }
+
+        @Override
+        public NullValue deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT)
+                token = p.nextToken();
+            while (token == JsonToken.FIELD_NAME) {
+                p.nextToken();
+                p.skipChildren();
+                token = p.nextToken();
+            }
+            return (NullValue) NullValue.INSTANCE;
+        }
+
+        @Override
+        public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+                throws IOException {
+            return typeDeserializer.deserializeTypedFromObject(p, ctxt);
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.dxmy.template.common.cache.codec;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Spring Data Redis 紧凑序列化器
+ * <p>
+ * 写入时使用紧凑编码, 读取时兼容 {@link GenericJackson2JsonRedisSerializer} 写入的旧 JSON 数据
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private final CompactCodec codec;
+    private final GenericJackson2JsonRedisSerializer legacySerializer = new GenericJackson2JsonRedisSerializer();
+
+    public CompactRedisSerializer(CompactCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null)
+            return EMPTY_ARRAY;
+
+        try {
+            return codec.encode(value);
+        } catch (IOException e) {
+            throw new SerializationException("紧凑编码失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0)
+            return null;
+        if (!CompactCodec.isCompact(bytes))
+            return legacySerializer.deserialize(bytes);
+
+        try {
+            return codec.decode(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("紧凑解码失败: " + e.getMessage(), e);
+        }
+    }
+
+}
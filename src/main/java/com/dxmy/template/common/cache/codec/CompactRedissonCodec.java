@@ -0,0 +1,95 @@
+package com.dxmy.template.common.cache.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.io.IOException;
+
+/**
+ * Redisson 紧凑编解码器
+ * <p>
+ * 读取时兼容 {@link JsonJacksonCodec} 写入的旧 JSON 数据. 集合成员与哈希字段按字节比较,
+ * 因此哈希字段与标量值 (字符串, 数值, 布尔, 字符, 枚举) 仍使用 JSON 编码, 保证迁移前后写入的 ID 等成员可以互相匹配
+ * <p>
+ * 注意: 以对象作为集合成员 (Set, SortedSet, List 的按值删除等) 时, 切换格式后新写入的成员与旧成员字节不同,
+ * 无法按值匹配或删除, 此类结构应在切换前清空, 或通过 {@code getSet(name, new JsonJacksonCodec())} 等方式固定使用原编解码器
+ */
+public class CompactRedissonCodec extends BaseCodec {
+
+    private final CompactCodec codec;
+    private final JsonJacksonCodec legacyCodec;
+
+    private final Encoder encoder;
+    private final Decoder<Object> decoder;
+
+    public CompactRedissonCodec(CompactCodec codec) {
+        this(codec, new JsonJacksonCodec());
+    }
+
+    /**
+     * 供 Redisson 按类加载器复制编解码器时使用
+     */
+    public CompactRedissonCodec(ClassLoader classLoader, CompactRedissonCodec codec) {
+        this(codec.codec, new JsonJacksonCodec(classLoader));
+    }
+
+    private CompactRedissonCodec(CompactCodec codec, JsonJacksonCodec legacyCodec) {
+        this.codec = codec;
+        this.legacyCodec = legacyCodec;
+        this.encoder = this::encode;
+        this.decoder = this::decode;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public Decoder<Object> getMapKeyDecoder() {
+        return legacyCodec.getMapKeyDecoder();
+    }
+
+    @Override
+    public Encoder getMapKeyEncoder() {
+        return legacyCodec.getMapKeyEncoder();
+    }
+
+    private ByteBuf encode(Object in) throws IOException {
+        if (isScalar(in))
+            return legacyCodec.getValueEncoder().encode(in);
+
+        byte[] bytes = codec.encode(in);
+        ByteBuf out = ByteBufAllocator.DEFAULT.buffer(bytes.length);
+        out.writeBytes(bytes);
+        return out;
+    }
+
+    /**
+     * 判断是否为标量值, 标量值常作为集合成员, 沿用 JSON 编码以保持与旧数据字节一致
+     */
+    private static boolean isScalar(Object in) {
+        return in instanceof String || in instanceof Number || in instanceof Boolean || in instanceof Character
+                || in instanceof Enum<?>;
+    }
+
+    private Object decode(ByteBuf buf, State state) throws IOException {
+        if (!buf.isReadable() || !CompactCodec.isCompact(buf.getByte(buf.readerIndex())))
+            return legacyCodec.getValueDecoder().decode(buf, state);
+
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return codec.decode(bytes);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.dxmy.template.common.cache.spring;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 缓存装饰器基类, 默认将所有操作委托给被装饰的缓存
+ */
+public abstract class CacheDecorator implements Cache {
+
+    /** 被装饰的缓存 */
+    protected final Cache delegate;
+
+    protected CacheDecorator(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 获取被装饰的缓存
+     */
+    public Cache getTargetCache() {
+        return delegate;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @NonNull
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(@NonNull Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @NonNull
+    @Override
+    public <T> CompletableFuture<T> retrieve(@NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+}
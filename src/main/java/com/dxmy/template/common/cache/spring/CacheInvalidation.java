@@ -0,0 +1,22 @@
+package com.dxmy.template.common.cache.spring;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 缓存失效消息, 用于通知其他节点清除本地一级缓存
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    /** 发出消息的节点标识 */
+    private String nodeId;
+    /** 缓存名称 */
+    private String cacheName;
+    /** 失效的键, 为 null 时表示清空整个缓存 */
+    private String key;
+
+}
@@ -0,0 +1,84 @@
+package com.dxmy.template.common.cache.spring;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 缓存方法调用 - {@code @Cacheable(sync = true)} 方法的代理对象与参数, 用于提前刷新时经由代理重新调用
+ * <p>
+ * 由 {@link CacheInvocationAspect} 在方法执行期间绑定到当前线程, 由缓存在读取时取出
+ */
+final class CacheInvocation {
+
+    private static final ThreadLocal<CacheInvocation> CURRENT = new ThreadLocal<>();
+
+    /** 代理对象 */
+    private final Object proxy;
+    private final Method method;
+    private final Object[] args;
+
+    CacheInvocation(Object proxy, Method method, Object[] args) {
+        this.proxy = proxy;
+        this.method = method;
+        this.args = args.clone();
+    }
+
+    /**
+     * 绑定到当前线程
+     *
+     * @return 之前绑定的调用, 由 {@link #restore(CacheInvocation)} 恢复
+     */
+    static CacheInvocation bind(CacheInvocation invocation) {
+        CacheInvocation previous = CURRENT.get();
+        CURRENT.set(invocation);
+        return previous;
+    }
+
+    /**
+     * 恢复之前绑定的调用
+     */
+    static void restore(CacheInvocation previous) {
+        if (previous != null)
+            CURRENT.set(previous);
+        else
+            CURRENT.remove();
+    }
+
+    /**
+     * 取出当前线程绑定的调用, 取出后解除绑定, 避免方法体内的其他缓存读取误用
+     *
+     * @return 当前线程绑定的调用, 不是经由缓存注解调用时为 null
+     */
+    static CacheInvocation take() {
+        CacheInvocation invocation = CURRENT.get();
+        if (invocation != null)
+            CURRENT.remove();
+        return invocation;
+    }
+
+    /**
+     * 经由代理重新调用方法, 依次经过缓存, 事务等全部拦截器
+     */
+    Object invoke() throws Exception {
+        Method proxyMethod = ReflectionUtils.findMethod(proxy.getClass(), method.getName(), method.getParameterTypes());
+        if (proxyMethod == null)
+            throw new IllegalStateException("代理对象上不存在方法: " + method);
+        try {
+            return proxyMethod.invoke(proxy, args);
+        } catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof Exception exception)
+                throw exception;
+            if (e.getTargetException() instanceof Error error)
+                throw error;
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+}
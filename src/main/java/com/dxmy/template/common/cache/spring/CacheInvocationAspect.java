@@ -0,0 +1,38 @@
+package com.dxmy.template.common.cache.spring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 缓存方法调用切面 - 在缓存拦截器之外记录 {@code @Cacheable(sync = true)} 方法的调用, 供提前刷新经由代理重新调用
+ * <p>
+ * 缓存拦截器默认为最低优先级, 本切面需位于其外层
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheInvocationAspect {
+
+    @Around("@annotation(cacheable)")
+    public Object bindInvocation(ProceedingJoinPoint joinPoint, Cacheable cacheable) throws Throwable {
+        if (!cacheable.sync())
+            return joinPoint.proceed();
+
+        // getThis 为代理对象, 重新调用时经过全部拦截器
+        CacheInvocation invocation = new CacheInvocation(joinPoint.getThis(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs());
+        CacheInvocation previous = CacheInvocation.bind(invocation);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CacheInvocation.restore(previous);
+        }
+    }
+
+}
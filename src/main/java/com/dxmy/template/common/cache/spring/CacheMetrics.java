@@ -0,0 +1,115 @@
+package com.dxmy.template.common.cache.spring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个缓存的指标, 同时注册到 Micrometer 以便通过 Actuator 导出
+ */
+public class CacheMetrics {
+
+    private final String cacheName;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    /** 加载耗时 */
+    private final Timer loadTimer;
+    /** 序列化后的值大小 */
+    private final DistributionSummary payloadSize;
+
+    public CacheMetrics(String cacheName, MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                       .tag("cache", cacheName).tag("result", "hit")
+                       .description("缓存命中次数")
+                       .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                       .tag("cache", cacheName).tag("result", "miss")
+                       .description("缓存未命中次数")
+                       .register(meterRegistry);
+        FunctionCounter.builder("cache.puts", puts, LongAdder::sum)
+                       .tag("cache", cacheName)
+                       .description("缓存写入次数")
+                       .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                       .tag("cache", cacheName)
+                       .description("缓存删除次数")
+                       .register(meterRegistry);
+
+        this.loadTimer = Timer.builder("cache.load.duration")
+                              .tag("cache", cacheName)
+                              .description("缓存未命中时的加载耗时")
+                              .publishPercentiles(0.5, 0.99)
+                              .publishPercentileHistogram()
+                              .register(meterRegistry);
+        this.payloadSize = DistributionSummary.builder("cache.payload.size")
+                                              .tag("cache", cacheName)
+                                              .baseUnit("bytes")
+                                              .description("缓存值序列化后的大小")
+                                              .register(meterRegistry);
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordPut() {
+        puts.increment();
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public void recordLoad(long nanos) {
+        loadTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPayload(int bytes) {
+        payloadSize.record(bytes);
+    }
+
+    /**
+     * 生成统计信息快照
+     */
+    public CacheStats snapshot() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        HistogramSnapshot loadSnapshot = loadTimer.takeSnapshot();
+
+        Double loadP99Millis = null;
+        for (ValueAtPercentile percentile : loadSnapshot.percentileValues())
+            if (percentile.percentile() == 0.99)
+                loadP99Millis = percentile.value(TimeUnit.MILLISECONDS);
+
+        return CacheStats.builder()
+                         .cacheName(cacheName)
+                         .hits(hitCount)
+                         .misses(missCount)
+                         .hitRatio(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount))
+                         .puts(puts.sum())
+                         .evictions(evictions.sum())
+                         .loads(loadSnapshot.count())
+                         .loadMeanMillis(loadSnapshot.mean(TimeUnit.MILLISECONDS))
+                         .loadP99Millis(loadP99Millis)
+                         .loadMaxMillis(loadSnapshot.max(TimeUnit.MILLISECONDS))
+                         .payloadMeanBytes(payloadSize.mean())
+                         .payloadMaxBytes(payloadSize.max())
+                         .build();
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.dxmy.template.common.cache.spring;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 缓存统计信息
+ */
+@Data
+@Builder
+public class CacheStats {
+
+    /** 缓存名称 */
+    private String cacheName;
+    /** 命中次数 */
+    private Long hits;
+    /** 未命中次数 */
+    private Long misses;
+    /** 命中率 */
+    private Double hitRatio;
+    /** 写入次数 */
+    private Long puts;
+    /** 删除次数 */
+    private Long evictions;
+    /** 加载次数 */
+    private Long loads;
+    /** 平均加载耗时 (单位: 毫秒) */
+    private Double loadMeanMillis;
+    /** 加载耗时 P99 (单位: 毫秒) */
+    private Double loadP99Millis;
+    /** 最大加载耗时 (单位: 毫秒) */
+    private Double loadMaxMillis;
+    /** 平均序列化大小 (单位: 字节) */
+    private Double payloadMeanBytes;
+    /** 最大序列化大小 (单位: 字节) */
+    private Double payloadMaxBytes;
+    /** 本节点内被合并的加载次数 (未开启合并加载时为 null) */
+    private Long coalescedLoads;
+    /** 因其他节点已完成加载而免于加载的次数 (未开启合并加载时为 null) */
+    private Long remoteCoalescedLoads;
+
+}
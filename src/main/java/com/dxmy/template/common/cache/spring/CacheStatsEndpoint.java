@@ -0,0 +1,43 @@
+package com.dxmy.template.common.cache.spring;
+
+import jakarta.annotation.Resource;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 缓存统计端点, 访问路径: /actuator/cachestats
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    @Resource
+    private CacheManager redisCacheManager;
+
+    /**
+     * 获取各缓存的统计信息
+     */
+    @ReadOperation
+    public List<CacheStats> cacheStats() {
+        if (redisCacheManager instanceof TieredCacheManager tieredCacheManager)
+            return tieredCacheManager.getCacheStats();
+        return Collections.emptyList();
+    }
+
+    /**
+     * 获取指定缓存的统计信息
+     */
+    @ReadOperation
+    public CacheStats cacheStats(@Selector String name) {
+        if (redisCacheManager instanceof TieredCacheManager tieredCacheManager)
+            return tieredCacheManager.getCacheStats(name);
+        return null;
+    }
+
+}
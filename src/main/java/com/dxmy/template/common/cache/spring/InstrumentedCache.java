@@ -0,0 +1,92 @@
+package com.dxmy.template.common.cache.spring;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 指标统计缓存 - 统计命中, 未命中, 写入, 删除次数与加载耗时
+ */
+public class InstrumentedCache extends CacheDecorator {
+
+    private final CacheMetrics metrics;
+
+    public InstrumentedCache(Cache delegate, CacheMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null)
+            metrics.recordHit();
+        else
+            metrics.recordMiss();
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        T value = delegate.get(key, type);
+        if (value != null)
+            metrics.recordHit();
+        else
+            metrics.recordMiss();
+        return value;
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        boolean[] loaded = {false};
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            long startNanos = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                metrics.recordLoad(System.nanoTime() - startNanos);
+            }
+        });
+
+        // 加载器被调用说明未命中, 其结果会写入缓存
+        if (loaded[0]) {
+            metrics.recordMiss();
+            metrics.recordPut();
+        } else {
+            metrics.recordHit();
+        }
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        metrics.recordPut();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null)
+            metrics.recordPut();
+        return existing;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+        metrics.recordEviction();
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted)
+            metrics.recordEviction();
+        return evicted;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.dxmy.template.common.cache.spring;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 本地一级缓存配置
+ */
+@Data
+public class LocalCacheSpec {
+
+    /** 最大缓存条目数, 超出后按 W-TinyLFU 策略淘汰 */
+    private Long maximumSize = 1000L;
+    /** 写入后的过期时间, 应小于对应 Redis 缓存的过期时间 */
+    private Duration timeToLive = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,37 @@
+package com.dxmy.template.common.cache.spring;
+
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 统计序列化大小的值序列化器, 包装缓存原有的值序列化方式
+ */
+public class MeasuredRedisSerializer implements RedisSerializer<Object> {
+
+    private final SerializationPair<Object> delegate;
+    private final CacheMetrics metrics;
+
+    public MeasuredRedisSerializer(SerializationPair<Object> delegate, CacheMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = ByteUtils.getBytes(delegate.write(value));
+        metrics.recordPayload(bytes.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null)
+            return null;
+        return delegate.read(ByteBuffer.wrap(bytes));
+    }
+
+}
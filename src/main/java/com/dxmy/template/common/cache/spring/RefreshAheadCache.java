@@ -0,0 +1,218 @@
+package com.dxmy.template.common.cache.spring;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 提前刷新缓存 - 热点条目在过期前由后台线程重新加载, 刷新期间读取方仍获得旧值
+ * <p>
+ * 仅作用于 {@code @Cacheable(sync = true)}; 仅由本节点加载过的条目会被提前刷新.
+ * 刷新时经由代理以相同参数重新调用缓存方法 ({@link CacheInvocation}), 事务等拦截器照常生效,
+ * 缓存拦截器读取到刷新中的条目时直接加载并写入; 刷新不继承触发请求的用户上下文
+ */
+@Slf4j
+public class RefreshAheadCache extends CacheDecorator {
+
+    private final RefreshSpec spec;
+    /** 条目过期时间计算函数, 与 Redis 缓存配置一致 */
+    private final RedisCacheWriter.TtlFunction ttlFunction;
+    private final Executor refreshExecutor;
+
+    /** 各条目的刷新元数据 */
+    private final com.github.benmanes.caffeine.cache.Cache<String, EntryMeta> entryMetas;
+    /** 正在刷新的条目 */
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    /** 当前线程正在刷新的条目 */
+    private static final ThreadLocal<RefreshTarget> REFRESH_TARGET = new ThreadLocal<>();
+
+    public RefreshAheadCache(Cache delegate, RefreshSpec spec, RedisCacheWriter.TtlFunction ttlFunction,
+            Executor refreshExecutor) {
+        super(delegate);
+        this.spec = spec;
+        this.ttlFunction = ttlFunction;
+        this.refreshExecutor = refreshExecutor;
+        this.entryMetas = Caffeine.newBuilder().maximumSize(spec.getMaximumSize()).build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        CacheInvocation invocation = CacheInvocation.take();
+        if (isRefreshTarget(key))
+            return reload(key, valueLoader);
+
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            String metaKey = toMetaKey(key);
+            EntryMeta meta = entryMetas.getIfPresent(metaKey);
+            if (invocation != null && meta != null && shouldRefresh(meta))
+                scheduleRefresh(key, metaKey, invocation);
+            return (T) wrapper.get();
+        }
+        return delegate.get(key, timed(key, valueLoader));
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        EntryMeta previous = entryMetas.getIfPresent(toMetaKey(key));
+        recordWrite(key, value, previous != null ? previous.loadNanos : 0);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+        entryMetas.invalidate(toMetaKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        entryMetas.invalidate(toMetaKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        entryMetas.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        entryMetas.invalidateAll();
+        return invalidated;
+    }
+
+    /**
+     * 判断条目是否需要刷新
+     */
+    private boolean shouldRefresh(EntryMeta meta) {
+        long now = System.nanoTime();
+        if (spec.getMode() == RefreshMode.REFRESH_AFTER_WRITE)
+            return spec.getRefreshAfterWrite() != null && now - meta.writeNanos >= spec.getRefreshAfterWrite().toNanos();
+
+        // XFetch: now - delta * beta * ln(rand) >= expiry, 其中 delta 为加载耗时
+        if (meta.expiryNanos == Long.MAX_VALUE)
+            return false;
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double gap = -meta.loadNanos * spec.getBeta() * Math.log(random);
+        return now + gap >= meta.expiryNanos;
+    }
+
+    /**
+     * 在后台经由代理重新调用缓存方法刷新条目, 同一条目同时只有一个刷新任务
+     */
+    private void scheduleRefresh(Object key, String metaKey, CacheInvocation invocation) {
+        if (!refreshingKeys.add(metaKey))
+            return;
+
+        Runnable refreshTask = () -> {
+            REFRESH_TARGET.set(new RefreshTarget(this, key));
+            try {
+                invocation.invoke();
+            } catch (Exception e) {
+                log.warn("[提前刷新] 后台刷新失败, 缓存: {}, 键: {}, 方法: {}", getName(), metaKey, invocation, e);
+            } finally {
+                REFRESH_TARGET.remove();
+                refreshingKeys.remove(metaKey);
+            }
+        };
+
+        try {
+            refreshExecutor.execute(refreshTask);
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(metaKey);
+            log.debug("[提前刷新] 刷新队列已满, 跳过刷新, 缓存: {}, 键: {}", getName(), metaKey);
+        }
+    }
+
+    /**
+     * 是否为当前线程正在刷新的条目; 仅匹配一次, 加载器中对其他条目的读取照常进行
+     */
+    private boolean isRefreshTarget(Object key) {
+        RefreshTarget target = REFRESH_TARGET.get();
+        if (target == null || target.cache() != this || !target.key().equals(key))
+            return false;
+        REFRESH_TARGET.remove();
+        return true;
+    }
+
+    /**
+     * 跳过读取, 直接加载并写入
+     */
+    private <T> T reload(Object key, Callable<T> valueLoader) {
+        T value;
+        try {
+            value = timed(key, valueLoader).call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        delegate.put(key, value);
+        return value;
+    }
+
+    /**
+     * 包装加载器, 记录加载耗时与写入时间
+     */
+    private <T> Callable<T> timed(Object key, Callable<T> valueLoader) {
+        return () -> {
+            long startNanos = System.nanoTime();
+            T value = valueLoader.call();
+            recordWrite(key, value, System.nanoTime() - startNanos);
+            return value;
+        };
+    }
+
+    private void recordWrite(Object key, @Nullable Object value, long loadNanos) {
+        long now = System.nanoTime();
+        Duration ttl = ttlFunction.getTimeToLive(key, value);
+        long expiryNanos = ttl.isZero() || ttl.isNegative() ? Long.MAX_VALUE : now + ttl.toNanos();
+        entryMetas.put(toMetaKey(key), new EntryMeta(now, loadNanos, expiryNanos));
+    }
+
+    private String toMetaKey(Object key) {
+        return key instanceof String str ? str : key.toString();
+    }
+
+    /**
+     * 正在刷新的条目
+     */
+    private record RefreshTarget(RefreshAheadCache cache, Object key) {
+    }
+
+    /**
+     * 条目刷新元数据
+     */
+    private static class EntryMeta {
+
+        /** 写入时间 */
+        private final long writeNanos;
+        /** 加载耗时 */
+        private final long loadNanos;
+        /** 过期时间 */
+        private final long expiryNanos;
+
+        private EntryMeta(long writeNanos, long loadNanos, long expiryNanos) {
+            this.writeNanos = writeNanos;
+            this.loadNanos = loadNanos;
+            this.expiryNanos = expiryNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.dxmy.template.common.cache.spring;
+
+/**
+ * 缓存提前刷新模式
+ */
+public enum RefreshMode {
+
+    /** 概率提前过期 (XFetch), 越接近过期且加载越慢的条目越可能被提前刷新 */
+    XFETCH,
+    /** 写入后经过固定时间, 下一次读取时触发后台刷新 */
+    REFRESH_AFTER_WRITE
+
+}
@@ -0,0 +1,22 @@
+package com.dxmy.template.common.cache.spring;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 缓存提前刷新配置
+ */
+@Data
+public class RefreshSpec {
+
+    /** 刷新模式 */
+    private RefreshMode mode = RefreshMode.XFETCH;
+    /** XFetch 提前系数, 越大越早刷新 */
+    private Double beta = 1.0;
+    /** 写入后触发刷新的时间, 仅 REFRESH_AFTER_WRITE 模式使用, 应小于缓存过期时间 */
+    private Duration refreshAfterWrite;
+    /** 记录刷新元数据的最大条目数 */
+    private Long maximumSize = 10000L;
+
+}
@@ -0,0 +1,146 @@
+package com.dxmy.template.common.cache.spring;
+
+import com.dxmy.template.common.cache.RedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 合并加载缓存 - 同一个键的并发未命中只执行一次加载, 其余请求等待并共享加载结果
+ * <p>
+ * 仅作用于带加载器的读取, 即 {@code @Cacheable(sync = true)}
+ */
+@Slf4j
+public class SingleFlightCache extends CacheDecorator {
+
+    /** 分布式加载锁的键前缀 */
+    private static final String LOCK_KEY_PREFIX = "lock:cache:";
+    /** 等待分布式加载锁的最长时间 (单位: 毫秒), 超时后直接加载 */
+    private static final long LOCK_WAIT_MILLIS = 10_000;
+
+    private final SingleFlightMode mode;
+    private final RedisService redisService;
+
+    /** 本节点内正在进行的加载 */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    /** 实际执行的加载次数 */
+    private final LongAdder loadCount = new LongAdder();
+    /** 因本节点内已有进行中的加载而被合并的次数 */
+    private final LongAdder coalescedCount = new LongAdder();
+    /** 等待其他节点加载完成后直接命中的次数 */
+    private final LongAdder remoteCoalescedCount = new LongAdder();
+
+    public SingleFlightCache(Cache delegate, SingleFlightMode mode, RedisService redisService) {
+        super(delegate);
+        this.mode = mode;
+        this.redisService = redisService;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null)
+            return (T) wrapper.get();
+
+        // 已有进行中的加载时, 等待并共享其结果
+        String flightKey = key instanceof String str ? str : key.toString();
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightLoads.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            coalescedCount.increment();
+            return (T) await(existing, key, valueLoader);
+        }
+
+        try {
+            Object value = mode == SingleFlightMode.DISTRIBUTED ?
+                    loadWithLock(key, flightKey, valueLoader) : load(key, valueLoader);
+            flight.complete(value);
+            return (T) value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * 获取实际执行的加载次数
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * 获取本节点内被合并的加载次数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * 获取因其他节点已完成加载而免于加载的次数
+     */
+    public long getRemoteCoalescedCount() {
+        return remoteCoalescedCount.sum();
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        loadCount.increment();
+        return delegate.get(key, valueLoader);
+    }
+
+    /**
+     * 持有分布式锁加载, 获得锁后再次检查缓存, 避免重复加载其他节点已加载的值
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T loadWithLock(Object key, String flightKey, Callable<T> valueLoader) {
+        RLock lock = redisService.getLock(LOCK_KEY_PREFIX + getName() + ":" + flightKey);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(LOCK_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            if (!locked)
+                log.warn("[合并加载] 等待分布式加载锁超时, 直接加载, 缓存: {}, 键: {}", getName(), flightKey);
+
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper != null) {
+                remoteCoalescedCount.increment();
+                return (T) wrapper.get();
+            }
+            return load(key, valueLoader);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread())
+                lock.unlock();
+        }
+    }
+
+    /**
+     * 等待进行中的加载完成, 并还原其抛出的异常
+     */
+    private Object await(CompletableFuture<Object> flight, Object key, Callable<?> valueLoader) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (cause instanceof Error error)
+                throw error;
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.dxmy.template.common.cache.spring;
+
+/**
+ * 缓存未命中时的合并加载模式
+ */
+public enum SingleFlightMode {
+
+    /** 仅合并本节点内的并发加载 */
+    LOCAL,
+    /** 合并本节点内的并发加载, 并通过 Redis 锁协调各节点间的加载 */
+    DISTRIBUTED
+
+}
@@ -0,0 +1,150 @@
+package com.dxmy.template.common.cache.spring;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * 多级缓存 - 本地一级缓存 (Caffeine) + 二级缓存 (被装饰的 Redis 缓存)
+ * <p>
+ * 本节点写入或删除时, 通过失效广播通知其他节点清除各自的本地一级缓存
+ */
+public class TieredCache extends CacheDecorator {
+
+    /** 本地一级缓存, 以字符串化的键存储值 (null 值以 {@link NullValue} 表示) */
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    /** 失效广播 (缓存名称, 键), 键为 null 时表示清空整个缓存 */
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    public TieredCache(Cache delegate, LocalCacheSpec spec, BiConsumer<String, String> invalidationPublisher) {
+        super(delegate);
+        this.localCache = Caffeine.newBuilder()
+                                  .maximumSize(spec.getMaximumSize())
+                                  .expireAfterWrite(spec.getTimeToLive())
+                                  .build();
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        String localKey = toLocalKey(key);
+        Object storeValue = localCache.getIfPresent(localKey);
+        if (storeValue != null)
+            return new SimpleValueWrapper(fromStoreValue(storeValue));
+
+        // 本地未命中时查询二级缓存, 命中则回填本地缓存
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null)
+            localCache.put(localKey, toStoreValue(wrapper.get()));
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value))
+            throw new IllegalStateException("缓存值类型不匹配, 期望类型: " + type.getName() + ", 实际值: " + value);
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        String localKey = toLocalKey(key);
+        Object storeValue = localCache.getIfPresent(localKey);
+        if (storeValue != null)
+            return (T) fromStoreValue(storeValue);
+
+        T value = delegate.get(key, valueLoader);
+        localCache.put(localKey, toStoreValue(value));
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        String localKey = toLocalKey(key);
+        localCache.put(localKey, toStoreValue(value));
+        invalidationPublisher.accept(getName(), localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        String localKey = toLocalKey(key);
+        localCache.put(localKey, toStoreValue(existing != null ? existing.get() : value));
+        if (existing == null)
+            invalidationPublisher.accept(getName(), localKey);
+        return existing;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+        String localKey = toLocalKey(key);
+        evictLocal(localKey);
+        invalidationPublisher.accept(getName(), localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        String localKey = toLocalKey(key);
+        evictLocal(localKey);
+        invalidationPublisher.accept(getName(), localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        clearLocal();
+        invalidationPublisher.accept(getName(), null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        clearLocal();
+        invalidationPublisher.accept(getName(), null);
+        return invalidated;
+    }
+
+    /**
+     * 清除本地一级缓存中指定的键
+     */
+    public void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    /**
+     * 清空本地一级缓存
+     */
+    public void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    /**
+     * 将缓存键转换为字符串, 与 RedisCache 对键的字符串化方式保持一致, 以便跨节点传递
+     */
+    private String toLocalKey(Object key) {
+        return key instanceof String str ? str : key.toString();
+    }
+
+    private Object toStoreValue(@Nullable Object value) {
+        return value != null ? value : NullValue.INSTANCE;
+    }
+
+    private Object fromStoreValue(Object storeValue) {
+        return storeValue == NullValue.INSTANCE ? null : storeValue;
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.dxmy.template.common.cache.spring;
+
+import com.dxmy.template.common.cache.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.hutool.core.data.id.IdUtil;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多级缓存管理器
+ * <p>
+ * 在 Redis 缓存之上, 为配置了本地缓存的缓存名称叠加有界的本地一级缓存,
+ * 并通过 Redisson 主题在各节点间广播失效消息
+ */
+@Slf4j
+public class TieredCacheManager extends RedisCacheManager implements DisposableBean {
+
+    /** 缓存失效广播主题 */
+    private static final String INVALIDATION_TOPIC = "cache:invalidation";
+    /** 后台刷新线程数 */
+    private static final int REFRESH_THREADS = 4;
+    /** 后台刷新任务队列容量, 队列已满时跳过刷新 */
+    private static final int REFRESH_QUEUE_CAPACITY = 1024;
+
+    /** 当前节点标识, 用于忽略自身发出的失效消息 */
+    private final String nodeId = IdUtil.simpleUUID();
+    /** 缓存失效广播主题 */
+    private final RTopic invalidationTopic;
+    /** 已创建的多级缓存 */
+    private final Map<String, TieredCache> tieredCaches = new ConcurrentHashMap<>();
+    /** 已创建的合并加载缓存 */
+    private final Map<String, SingleFlightCache> singleFlightCaches = new ConcurrentHashMap<>();
+    /** 各缓存的指标 */
+    private final Map<String, CacheMetrics> cacheMetrics = new ConcurrentHashMap<>();
+
+    /** 各缓存的本地一级缓存配置, 未配置的缓存仅使用 Redis */
+    @Setter
+    private Map<String, LocalCacheSpec> localSpecs = Collections.emptyMap();
+    /** 各缓存的合并加载模式, 未配置的缓存不合并加载 */
+    @Setter
+    private Map<String, SingleFlightMode> singleFlightModes = Collections.emptyMap();
+    /** Redis 服务, 用于分布式合并加载 */
+    @Setter
+    private RedisService redisService;
+    /** 各缓存的提前刷新配置, 未配置的缓存不提前刷新 */
+    @Setter
+    private Map<String, RefreshSpec> refreshSpecs = Collections.emptyMap();
+    /** 指标注册中心, 为 null 时不统计缓存指标 */
+    @Setter
+    private MeterRegistry meterRegistry;
+
+    /** 后台刷新线程池 */
+    private final ThreadPoolExecutor refreshExecutor = createRefreshExecutor();
+
+    public TieredCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+            Map<String, RedisCacheConfiguration> initialCacheConfigurations, RedissonClient redissonClient) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+        this.invalidationTopic = redissonClient.getTopic(INVALIDATION_TOPIC);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 订阅其他节点发出的失效消息
+        invalidationTopic.addListener(CacheInvalidation.class, (channel, message) -> onInvalidation(message));
+        super.afterPropertiesSet();
+    }
+
+    @NonNull
+    @Override
+    protected RedisCache createRedisCache(@NonNull String name, @Nullable RedisCacheConfiguration cacheConfiguration) {
+        if (meterRegistry == null)
+            return super.createRedisCache(name, cacheConfiguration);
+
+        // 包装值序列化器, 统计序列化后的值大小
+        RedisCacheConfiguration config = cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration();
+        MeasuredRedisSerializer serializer = new MeasuredRedisSerializer(config.getValueSerializationPair(), getCacheMetrics(name));
+        return super.createRedisCache(name, config.serializeValuesWith(SerializationPair.fromSerializer(serializer)));
+    }
+
+    @NonNull
+    @Override
+    protected Cache decorateCache(@NonNull Cache cache) {
+        RedisCache redisCache = cache instanceof RedisCache ? (RedisCache) cache : null;
+
+        LocalCacheSpec localSpec = localSpecs.get(cache.getName());
+        if (localSpec != null) {
+            TieredCache tieredCache = new TieredCache(cache, localSpec, this::publishInvalidation);
+            tieredCaches.put(cache.getName(), tieredCache);
+            cache = tieredCache;
+        }
+
+        SingleFlightMode singleFlightMode = singleFlightModes.get(cache.getName());
+        if (singleFlightMode != null) {
+            SingleFlightCache singleFlightCache = new SingleFlightCache(cache, singleFlightMode, redisService);
+            singleFlightCaches.put(cache.getName(), singleFlightCache);
+            cache = singleFlightCache;
+        }
+
+        RefreshSpec refreshSpec = refreshSpecs.get(cache.getName());
+        if (refreshSpec != null && redisCache != null)
+            cache = new RefreshAheadCache(cache, refreshSpec,
+                    redisCache.getCacheConfiguration().getTtlFunction(), refreshExecutor);
+
+        // 指标统计位于最外层, 以统计调用方视角的命中率
+        if (meterRegistry != null)
+            cache = new InstrumentedCache(cache, getCacheMetrics(cache.getName()));
+
+        return super.decorateCache(cache);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdown();
+    }
+
+    /**
+     * 获取已创建的合并加载缓存, 可用于查看各缓存的加载与合并次数
+     */
+    public Map<String, SingleFlightCache> getSingleFlightCaches() {
+        return Collections.unmodifiableMap(singleFlightCaches);
+    }
+
+    /**
+     * 获取各缓存的统计信息
+     */
+    public List<CacheStats> getCacheStats() {
+        List<CacheStats> statsList = new ArrayList<>();
+        for (String cacheName : cacheMetrics.keySet())
+            statsList.add(getCacheStats(cacheName));
+        return statsList;
+    }
+
+    /**
+     * 获取指定缓存的统计信息, 缓存不存在或未统计时返回 null
+     */
+    public CacheStats getCacheStats(String cacheName) {
+        CacheMetrics metrics = cacheMetrics.get(cacheName);
+        if (metrics == null)
+            return null;
+
+        CacheStats stats = metrics.snapshot();
+        SingleFlightCache singleFlightCache = singleFlightCaches.get(cacheName);
+        if (singleFlightCache != null)
+            stats.setCoalescedLoads(singleFlightCache.getCoalescedCount())
+                 .setRemoteCoalescedLoads(singleFlightCache.getRemoteCoalescedCount());
+        return stats;
+    }
+
+    private CacheMetrics getCacheMetrics(String cacheName) {
+        return cacheMetrics.computeIfAbsent(cacheName, name -> new CacheMetrics(name, meterRegistry));
+    }
+
+    /**
+     * 广播失效消息
+     */
+    private void publishInvalidation(String cacheName, String key) {
+        invalidationTopic.publishAsync(new CacheInvalidation(nodeId, cacheName, key))
+                         .whenComplete((receivers, e) -> {
+                             if (e != null)
+                                 log.warn("[多级缓存] 广播失效消息失败, 缓存: {}, 键: {}", cacheName, key, e);
+                         });
+    }
+
+    /**
+     * 创建后台刷新线程池, 队列已满时拒绝任务, 由调用方跳过本次刷新
+     */
+    private static ThreadPoolExecutor createRefreshExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                REFRESH_THREADS, REFRESH_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 处理其他节点发出的失效消息, 清除本地一级缓存
+     */
+    private void onInvalidation(CacheInvalidation message) {
+        if (nodeId.equals(message.getNodeId()))
+            return;
+
+        TieredCache tieredCache = tieredCaches.get(message.getCacheName());
+        if (tieredCache == null)
+            return;
+
+        if (message.getKey() == null)
+            tieredCache.clearLocal();
+        else
+            tieredCache.evictLocal(message.getKey());
+    }
+
+}
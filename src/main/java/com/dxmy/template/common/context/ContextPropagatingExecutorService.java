@@ -0,0 +1,51 @@
+package com.dxmy.template.common.context;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 传递线程上下文的线程池包装 - 任务在提交线程的上下文快照中执行
+ * <p>
+ * 适用于只接受 {@link ExecutorService} 的第三方组件
+ */
+public class ContextPropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    public ContextPropagatingExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(ContextSnapshot.capture().wrap(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.dxmy.template.common.context;
+
+import com.dxmy.template.common.auth.UserContext;
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * 线程上下文快照
+ * <p>
+ * 捕获当前线程的用户上下文与 MDC, 以便在其他线程 (线程池任务, 异步回调等) 中还原
+ */
+public class ContextSnapshot {
+
+    private final UserContext userContext;
+    private final Map<String, String> mdcContext;
+
+    private ContextSnapshot(UserContext userContext, Map<String, String> mdcContext) {
+        this.userContext = userContext;
+        this.mdcContext = mdcContext;
+    }
+
+    /**
+     * 捕获当前线程的上下文
+     */
+    public static ContextSnapshot capture() {
+        return new ContextSnapshot(UserContext.getCurrentUser(), MDC.getCopyOfContextMap());
+    }
+
+    /**
+     * 在快照的上下文中执行任务, 执行完毕后恢复当前线程原有的上下文
+     *
+     * @param task 任务
+     */
+    public void run(Runnable task) {
+        UserContext previousUserContext = UserContext.getCurrentUser();
+        Map<String, String> previousMdcContext = MDC.getCopyOfContextMap();
+
+        apply(userContext, mdcContext);
+        try {
+            task.run();
+        } finally {
+            apply(previousUserContext, previousMdcContext);
+        }
+    }
+
+    /**
+     * 包装任务, 使其在快照的上下文中执行
+     *
+     * @param task 任务
+     * @return 包装后的任务
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+
+    private static void apply(UserContext userContext, Map<String, String> mdcContext) {
+        if (userContext != null)
+            UserContext.setCurrentUser(userContext);
+        else
+            UserContext.clear();
+
+        if (mdcContext != null)
+            MDC.setContextMap(mdcContext);
+        else
+            MDC.clear();
+    }
+
+}
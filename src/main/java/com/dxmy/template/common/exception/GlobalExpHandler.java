@@ -40,6 +40,15 @@ public class GlobalExpHandler {
         return R.error(e.getErrorCode(), e.getMessage());
     }
 
+    /**
+     * 限流异常处理
+     */
+    @ExceptionHandler(RateLimitException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public R<Object> rateLimitExceptionHandler(RateLimitException e) {
+        return R.error(e.getErrorCode(), e.getMessage());
+    }
+
     /**
      * 参数校验异常处理
      */
@@ -0,0 +1,14 @@
+package com.dxmy.template.common.exception;
+
+import com.dxmy.template.common.response.Code;
+
+/**
+ * 限流异常类
+ */
+public class RateLimitException extends BusinessException {
+
+    public RateLimitException() {
+        super(Code.TOO_MANY_REQUESTS);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.dxmy.template.common.latency;
+
+import jakarta.annotation.Resource;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 接口耗时端点, 访问路径: /actuator/latency
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    @Resource
+    private LatencyRecorder latencyRecorder;
+
+    /**
+     * 获取各接口各状态码的耗时分位数
+     */
+    @ReadOperation
+    public List<LatencyStats> latency() {
+        return latencyRecorder.getStats();
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.dxmy.template.common.latency;
+
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 接口耗时拦截器 - 以纳秒精度记录每个处理方法的耗时, 包含全局异常处理的耗时
+ */
+@Component
+public class LatencyInterceptor implements HandlerInterceptor {
+
+    /** 开始时间请求属性名 */
+    private static final String START_NANOS_ATTRIBUTE = LatencyInterceptor.class.getName() + ".startNanos";
+
+    @Resource
+    private LatencyRecorder latencyRecorder;
+
+    @Override
+    public boolean preHandle(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull Object handler) {
+        if (handler instanceof HandlerMethod)
+            request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull Object handler, Exception ex) {
+        if (handler instanceof HandlerMethod handlerMethod
+                && request.getAttribute(START_NANOS_ATTRIBUTE) instanceof Long startNanos)
+            latencyRecorder.record(handlerMethod.getMethod(), resolveStatus(response, ex), System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 未被异常处理器处理的异常在 afterCompletion 之后才由容器写入错误状态, 此时状态码仍为 200, 按 500 记录
+     */
+    private static int resolveStatus(HttpServletResponse response, Exception ex) {
+        int status = response.getStatus();
+        return ex != null && status < HttpServletResponse.SC_BAD_REQUEST ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : status;
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.dxmy.template.common.latency;
+
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口耗时记录器 - 按处理方法与 HTTP 状态码分别记录耗时直方图, 提供 1 分钟与 5 分钟滚动窗口
+ * <p>
+ * 直方图每 10 秒轮转一次, 统计结果不包含尚未结束的间隔
+ */
+@Component
+public class LatencyRecorder {
+
+    /** 轮转间隔 (单位: 秒) */
+    private static final int INTERVAL_SECONDS = 10;
+    /** 滚动窗口名称与包含的间隔数 */
+    private static final Map<String, Integer> WINDOWS = Map.of("1m", 6, "5m", 30);
+    /** 保留的间隔数, 即最大窗口包含的间隔数 */
+    private static final int RETAINED_INTERVALS = 30;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** 各处理方法的耗时直方图 */
+    private final Map<Method, EndpointLatency> endpoints = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService rotator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "latency-rotator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LatencyRecorder() {
+        rotator.scheduleAtFixedRate(this::rotate, INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        rotator.shutdown();
+    }
+
+    /**
+     * 记录耗时
+     *
+     * @param method 处理方法
+     * @param status HTTP 状态码
+     * @param nanos  耗时 (单位: 纳秒)
+     */
+    public void record(Method method, int status, long nanos) {
+        EndpointLatency endpoint = endpoints.get(method);
+        if (endpoint == null)
+            endpoint = endpoints.computeIfAbsent(method, EndpointLatency::new);
+        endpoint.histogram(status).record(nanos);
+    }
+
+    /**
+     * 获取各接口的耗时统计
+     */
+    public List<LatencyStats> getStats() {
+        List<LatencyStats> statsList = new ArrayList<>();
+        for (EndpointLatency endpoint : endpoints.values())
+            endpoint.histograms.forEach((status, histogram) -> statsList.add(toStats(endpoint.name, status, histogram)));
+        return statsList;
+    }
+
+    private void rotate() {
+        for (EndpointLatency endpoint : endpoints.values())
+            for (WindowedHistogram histogram : endpoint.histograms.values())
+                histogram.rotate();
+    }
+
+    private LatencyStats toStats(String name, int status, WindowedHistogram histogram) {
+        Map<String, LatencyStats.WindowStats> windows = new LinkedHashMap<>();
+        WINDOWS.entrySet()
+               .stream()
+               .sorted(Map.Entry.comparingByValue())
+               .forEach(window -> {
+                   Histogram merged = histogram.merge(window.getValue());
+                   windows.put(window.getKey(), LatencyStats.WindowStats
+                           .builder()
+                           .count(merged.getTotalCount())
+                           .p50Millis(merged.getValueAtPercentile(50) / NANOS_PER_MILLI)
+                           .p90Millis(merged.getValueAtPercentile(90) / NANOS_PER_MILLI)
+                           .p99Millis(merged.getValueAtPercentile(99) / NANOS_PER_MILLI)
+                           .maxMillis(merged.getMaxValue() / NANOS_PER_MILLI)
+                           .build());
+               });
+        return LatencyStats.builder().endpoint(name).status(status).windows(windows).build();
+    }
+
+    /**
+     * 单个处理方法的耗时直方图
+     */
+    private static class EndpointLatency {
+
+        private final String name;
+        private final Map<Integer, WindowedHistogram> histograms = new ConcurrentHashMap<>();
+
+        private EndpointLatency(Method method) {
+            this.name = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        }
+
+        private WindowedHistogram histogram(int status) {
+            WindowedHistogram histogram = histograms.get(status);
+            if (histogram != null)
+                return histogram;
+            return histograms.computeIfAbsent(status, s -> new WindowedHistogram(RETAINED_INTERVALS));
+        }
+
+    }
+
+}
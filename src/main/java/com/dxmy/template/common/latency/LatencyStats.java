@@ -0,0 +1,42 @@
+package com.dxmy.template.common.latency;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 接口耗时统计信息
+ */
+@Data
+@Builder
+public class LatencyStats {
+
+    /** 接口, 格式为 "类名#方法名" */
+    private String endpoint;
+    /** HTTP 状态码 */
+    private Integer status;
+    /** 各滚动窗口的统计, 键为窗口名称 (如 1m, 5m) */
+    private Map<String, WindowStats> windows;
+
+    /**
+     * 单个滚动窗口的统计
+     */
+    @Data
+    @Builder
+    public static class WindowStats {
+
+        /** 请求数 */
+        private Long count;
+        /** P50 耗时 (单位: 毫秒) */
+        private Double p50Millis;
+        /** P90 耗时 (单位: 毫秒) */
+        private Double p90Millis;
+        /** P99 耗时 (单位: 毫秒) */
+        private Double p99Millis;
+        /** 最大耗时 (单位: 毫秒) */
+        private Double maxMillis;
+
+    }
+
+}
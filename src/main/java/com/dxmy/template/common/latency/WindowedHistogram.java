@@ -0,0 +1,58 @@
+package com.dxmy.template.common.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 滚动窗口直方图 - 写入无锁 (HdrHistogram Recorder), 按固定间隔轮转并保留最近若干个间隔
+ */
+class WindowedHistogram {
+
+    /** 有效数字位数, 2 位即误差不超过 1% */
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    /** 最近若干个间隔的直方图, 环形存储 */
+    private final Histogram[] intervals;
+    /** 下一个写入的位置 */
+    private int next;
+
+    WindowedHistogram(int intervalCount) {
+        this.intervals = new Histogram[intervalCount];
+    }
+
+    /**
+     * 记录耗时
+     *
+     * @param nanos 耗时 (单位: 纳秒)
+     */
+    void record(long nanos) {
+        recorder.recordValue(Math.max(nanos, 0));
+    }
+
+    /**
+     * 结束当前间隔, 由轮转线程调用
+     */
+    synchronized void rotate() {
+        // 复用被淘汰的间隔直方图
+        intervals[next] = recorder.getIntervalHistogram(intervals[next]);
+        next = (next + 1) % intervals.length;
+    }
+
+    /**
+     * 合并最近若干个间隔
+     *
+     * @param count 间隔数
+     * @return 合并后的直方图
+     */
+    synchronized Histogram merge(int count) {
+        Histogram merged = new Histogram(SIGNIFICANT_DIGITS);
+        for (int i = 1; i <= Math.min(count, intervals.length); i++) {
+            Histogram interval = intervals[(next - i + intervals.length) % intervals.length];
+            if (interval != null)
+                merged.add(interval);
+        }
+        return merged;
+    }
+
+}
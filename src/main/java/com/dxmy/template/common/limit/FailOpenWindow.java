@@ -0,0 +1,56 @@
+package com.dxmy.template.common.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Redis 故障放行窗口 - 访问 Redis 失败后在一段时间内直接放行限流请求, 期间不再访问 Redis
+ * <p>
+ * 所有令牌桶共用一个窗口, Redis 故障时每个窗口只有首个失败的请求等待 Redis 超时
+ */
+class FailOpenWindow {
+
+    /** 放行时长 (单位: 纳秒) */
+    private final long backoffNanos;
+    /** 纳秒时钟 */
+    private final LongSupplier nanoClock;
+    /** 放行截止时间 */
+    private final AtomicLong openUntilNanos;
+
+    FailOpenWindow(Duration backoff) {
+        this(backoff, System::nanoTime);
+    }
+
+    FailOpenWindow(Duration backoff, LongSupplier nanoClock) {
+        this.backoffNanos = backoff.toNanos();
+        this.nanoClock = nanoClock;
+        this.openUntilNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * 是否处于放行窗口内
+     */
+    boolean isOpen() {
+        return nanoClock.getAsLong() - openUntilNanos.get() < 0;
+    }
+
+    /**
+     * 记录一次 Redis 访问失败, 开启放行窗口
+     *
+     * @return 是否由本次失败开启窗口, 窗口已开启时返回 false, 用于限制告警日志的频率
+     */
+    boolean open() {
+        long now = nanoClock.getAsLong();
+        long openUntil = openUntilNanos.get();
+        return now - openUntil >= 0 && openUntilNanos.compareAndSet(openUntil, now + backoffNanos);
+    }
+
+    /**
+     * 获取放行时长
+     */
+    Duration getBackoff() {
+        return Duration.ofNanos(backoffNanos);
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.dxmy.template.common.limit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RFuture;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateLimiterConfig;
+import org.redisson.api.RateType;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * 本地预取令牌桶 - 每次从 Redis 令牌桶批量预取令牌, 本地令牌耗尽前的请求无需访问 Redis
+ * <p>
+ * 本地令牌通过 CAS 扣减, 不持有锁; 令牌耗尽时同一时刻只有一个线程向 Redis 预取, 其余线程等待该次预取的结果.
+ * 预取的令牌在一个时间窗口后作废, 避免节点囤积令牌; 预取失败后在一个令牌的生成时间内直接拒绝, 避免被限流时反复访问 Redis.
+ * <p>
+ * 创建令牌桶不访问 Redis, 速率配置在首次预取时写入. 访问 Redis 的等待时间有上限, 超时或出错时开启共用的
+ * {@link FailOpenWindow}, 窗口内直接放行, 避免 Redis 故障时每个请求都等待超时. 超时的预取可能仍在 Redis 中扣减令牌
+ */
+@Slf4j
+class LeasedTokenBucket {
+
+    /** 无令牌的初始租约 */
+    private static final Lease EMPTY_LEASE = new Lease(0, 0);
+    /** 访问 Redis 失败的预取结果, 请求直接放行 */
+    private static final Lease FAILED_LEASE = new Lease(0, 0);
+    /** 访问 Redis 的最长等待时间, 超时按 Redis 不可用处理 */
+    private static final long REDIS_TIMEOUT_MILLIS = 200;
+
+    private final RRateLimiter rateLimiter;
+    /** 速率 (每个时间窗口的令牌数) */
+    private final long rate;
+    /** 时间窗口长度 (单位: 毫秒) */
+    private final long intervalMillis;
+    /** 每次预取的令牌数 */
+    private final int leaseSize;
+    /** 时间窗口长度 (单位: 纳秒) */
+    private final long intervalNanos;
+    /** 生成一个令牌所需时间 (单位: 纳秒) */
+    private final long tokenNanos;
+    /** Redis 令牌桶的过期时间, 每次预取时续期 */
+    private final Duration keyTimeToLive;
+    /** Redis 故障放行窗口 */
+    private final FailOpenWindow failOpenWindow;
+    /** 纳秒时钟 */
+    private final LongSupplier nanoClock;
+
+    /** 速率配置是否已写入 Redis, 仅由预取线程访问 */
+    private boolean rateApplied;
+    /** 当前租约, 预取成功后整体替换 */
+    private volatile Lease lease = EMPTY_LEASE;
+    /** 拒绝截止时间 */
+    private volatile long rejectUntilNanos;
+    /** 进行中的预取, 没有时为 null */
+    private final AtomicReference<CompletableFuture<Lease>> refilling = new AtomicReference<>();
+
+    LeasedTokenBucket(RRateLimiter rateLimiter, long rate, long intervalMillis, int leaseSize, Duration keyTimeToLive,
+            FailOpenWindow failOpenWindow) {
+        this(rateLimiter, rate, intervalMillis, leaseSize, keyTimeToLive, failOpenWindow, System::nanoTime);
+    }
+
+    LeasedTokenBucket(RRateLimiter rateLimiter, long rate, long intervalMillis, int leaseSize, Duration keyTimeToLive,
+            FailOpenWindow failOpenWindow, LongSupplier nanoClock) {
+        if (rate <= 0)
+            throw new IllegalArgumentException("限流速率须大于 0: " + rate);
+        if (intervalMillis <= 0)
+            throw new IllegalArgumentException("限流时间窗口须大于 0 毫秒: " + intervalMillis);
+        if (leaseSize <= 0)
+            throw new IllegalArgumentException("预取令牌数须大于 0: " + leaseSize);
+
+        this.rateLimiter = rateLimiter;
+        this.rate = rate;
+        this.intervalMillis = intervalMillis;
+        this.leaseSize = leaseSize;
+        this.intervalNanos = Duration.ofMillis(intervalMillis).toNanos();
+        this.tokenNanos = Math.max(1, intervalNanos / rate);
+        this.keyTimeToLive = keyTimeToLive;
+        this.failOpenWindow = failOpenWindow;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @return 是否获取成功
+     */
+    boolean tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            Lease current = lease;
+            if (current.isValid(now) && current.tryTake())
+                return true;
+            if (now - rejectUntilNanos < 0)
+                return false;
+            if (failOpenWindow.isOpen())
+                return true;
+
+            // 本地令牌耗尽, 由一个线程向 Redis 预取, 预取完成后重新从新租约中扣减; 预取被拒绝时不再重试
+            Lease next = refill(current).join();
+            if (next == FAILED_LEASE)
+                return true;
+            if (next.isRejected())
+                return false;
+        }
+    }
+
+    /**
+     * 发起或加入预取, 租约已被其他线程替换时直接返回
+     */
+    private CompletableFuture<Lease> refill(Lease expected) {
+        CompletableFuture<Lease> future = new CompletableFuture<>();
+        CompletableFuture<Lease> inFlight = refilling.compareAndExchange(null, future);
+        if (inFlight != null)
+            return inFlight;
+
+        try {
+            if (lease != expected) {
+                future.complete(lease);
+                return future;
+            }
+
+            if (!rateApplied) {
+                applyRate();
+                rateApplied = true;
+            }
+
+            // 预取一批令牌, 不足一批时退化为单个令牌
+            int leased = await(rateLimiter.tryAcquireAsync(leaseSize)) ? leaseSize
+                    : leaseSize > 1 && await(rateLimiter.tryAcquireAsync()) ? 1 : 0;
+            rateLimiter.expireAsync(keyTimeToLive);
+
+            long now = nanoClock.getAsLong();
+            Lease next = new Lease(leased, now + intervalNanos);
+            if (leased == 0)
+                rejectUntilNanos = now + tokenNanos;
+            lease = next;
+            future.complete(next);
+        } catch (Exception e) {
+            // 窗口内其他请求不再访问 Redis, 因此每个窗口只输出一次告警
+            if (failOpenWindow.open())
+                log.warn("[限流] 访问 Redis 失败, {} 秒内放行所有限流请求, 键: {}", failOpenWindow.getBackoff().toSeconds(),
+                        rateLimiter.getName(), e);
+            future.complete(FAILED_LEASE);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            refilling.set(null);
+        }
+        return future;
+    }
+
+    /**
+     * 设置 Redis 令牌桶的速率, 已存在的配置与注解不一致时重置
+     * <p>
+     * 重置会清空 Redis 中的令牌状态, 因此仅在配置变化时执行, 以免每个节点创建令牌桶时都重置配额
+     */
+    private void applyRate() throws Exception {
+        if (await(rateLimiter.trySetRateAsync(RateType.OVERALL, rate, intervalMillis, RateIntervalUnit.MILLISECONDS)))
+            return;
+
+        RateLimiterConfig config = await(rateLimiter.getConfigAsync());
+        if (config.getRateType() == RateType.OVERALL && Objects.equals(config.getRate(), rate)
+                && Objects.equals(config.getRateInterval(), intervalMillis))
+            return;
+
+        log.info("[限流] 令牌桶配置已变化, 重置配置, 键: {}, 速率: {} -> {}, 时间窗口: {} -> {} 毫秒", rateLimiter.getName(),
+                config.getRate(), rate, config.getRateInterval(), intervalMillis);
+        await(rateLimiter.setRateAsync(RateType.OVERALL, rate, intervalMillis, RateIntervalUnit.MILLISECONDS));
+    }
+
+    /**
+     * 等待 Redis 命令的结果, 超时抛出 TimeoutException
+     */
+    private static <T> T await(RFuture<T> future) throws Exception {
+        return future.get(REDIS_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 本地租约 - 一次预取得到的令牌及其作废时间
+     */
+    private static class Lease {
+
+        /** 预取到的令牌数 */
+        private final long size;
+        /** 剩余令牌数 */
+        private final AtomicLong tokens;
+        /** 作废时间 */
+        private final long expiryNanos;
+
+        private Lease(long size, long expiryNanos) {
+            this.size = size;
+            this.tokens = new AtomicLong(size);
+            this.expiryNanos = expiryNanos;
+        }
+
+        private boolean isValid(long now) {
+            return now - expiryNanos < 0;
+        }
+
+        /**
+         * 是否为被 Redis 拒绝的预取
+         */
+        private boolean isRejected() {
+            return size == 0;
+        }
+
+        /**
+         * 扣减一个令牌, 令牌耗尽时返回 false
+         */
+        private boolean tryTake() {
+            long remaining;
+            do {
+                remaining = tokens.get();
+                if (remaining <= 0)
+                    return false;
+            } while (!tokens.compareAndSet(remaining, remaining - 1));
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.dxmy.template.common.limit;
+
+/**
+ * 限流维度
+ */
+public enum LimitScope {
+
+    /** 按接口限流, 所有用户共享配额 */
+    ENDPOINT,
+    /** 按用户限流, 每个用户独立配额 (未登录时按客户端 IP) */
+    USER
+
+}
@@ -0,0 +1,46 @@
+package com.dxmy.template.common.limit;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流注解 - 基于 Redis 令牌桶的分布式限流, 超过限制时返回 {@link com.dxmy.template.common.response.Code#TOO_MANY_REQUESTS}
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * 限流键, 默认为 "类名#方法名"
+     */
+    String key() default "";
+
+    /**
+     * 限流维度
+     */
+    LimitScope scope() default LimitScope.USER;
+
+    /**
+     * 每个时间窗口内允许的请求数
+     */
+    long rate();
+
+    /**
+     * 时间窗口长度
+     */
+    long interval() default 1;
+
+    /**
+     * 时间窗口单位
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * 每个节点每次从 Redis 预取的令牌数, 小于等于 0 时取 rate 的 1/10 (至少为 1)
+     * <p>
+     * 预取越多, 访问 Redis 越少, 但各节点间的限流精度越低
+     */
+    int lease() default 0;
+
+}
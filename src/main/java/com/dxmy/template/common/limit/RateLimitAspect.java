@@ -0,0 +1,95 @@
+package com.dxmy.template.common.limit;
+
+import com.dxmy.template.common.auth.UserContext;
+import com.dxmy.template.common.cache.RedisService;
+import com.dxmy.template.common.exception.RateLimitException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * 限流切面
+ */
+@Slf4j
+@Aspect
+@Component
+public class RateLimitAspect {
+
+    /** 限流键前缀 */
+    private static final String KEY_PREFIX = "rate:limit:";
+    /** 本地令牌桶的最大数量 */
+    private static final long MAX_LOCAL_BUCKETS = 100_000;
+    /** 本地令牌桶的最大空闲时间, 超过后移除 */
+    private static final Duration LOCAL_BUCKET_IDLE = Duration.ofMinutes(10);
+    /** 访问 Redis 失败后直接放行的时长 */
+    private static final Duration FAIL_OPEN_BACKOFF = Duration.ofSeconds(5);
+
+    @Resource
+    private HttpServletRequest request;
+
+    @Resource
+    private RedisService redisService;
+
+    /** 各限流键的本地令牌桶 */
+    private final Cache<String, LeasedTokenBucket> buckets = Caffeine.newBuilder()
+                                                                     .maximumSize(MAX_LOCAL_BUCKETS)
+                                                                     .expireAfterAccess(LOCAL_BUCKET_IDLE)
+                                                                     .build();
+    /** 所有令牌桶共用的 Redis 故障放行窗口 */
+    private final FailOpenWindow failOpenWindow = new FailOpenWindow(FAIL_OPEN_BACKOFF);
+
+    @Before("@annotation(rateLimit)")
+    public void rateLimit(JoinPoint joinPoint, RateLimit rateLimit) {
+        String key = buildKey(joinPoint, rateLimit);
+
+        boolean acquired;
+        try {
+            acquired = buckets.get(key, k -> createBucket(k, rateLimit)).tryAcquire();
+        } catch (IllegalArgumentException e) {
+            // 注解配置错误, 不能按 Redis 不可用处理而放行
+            throw e;
+        } catch (Exception e) {
+            // 令牌桶已处理 Redis 故障, 此处兜底其他异常, 同样放行并限制告警频率
+            if (failOpenWindow.open())
+                log.warn("[限流] 获取令牌失败, {} 秒内放行所有限流请求, 键: {}", FAIL_OPEN_BACKOFF.toSeconds(), key, e);
+            return;
+        }
+
+        if (!acquired) {
+            log.debug("[限流] 请求被限流, 键: {}", key);
+            throw new RateLimitException();
+        }
+    }
+
+    /**
+     * 构建限流键
+     */
+    private String buildKey(JoinPoint joinPoint, RateLimit rateLimit) {
+        String key = StringUtils.hasText(rateLimit.key()) ? rateLimit.key() :
+                joinPoint.getSignature().getDeclaringTypeName() + "#" + joinPoint.getSignature().getName();
+        if (rateLimit.scope() == LimitScope.ENDPOINT)
+            return KEY_PREFIX + key;
+
+        Long userId = UserContext.getCurrentUserId();
+        return KEY_PREFIX + key + ":" + (userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr());
+    }
+
+    private LeasedTokenBucket createBucket(String key, RateLimit rateLimit) {
+        long intervalMillis = rateLimit.unit().toMillis(rateLimit.interval());
+        int lease = rateLimit.lease() > 0 ? rateLimit.lease() : (int) Math.max(1, rateLimit.rate() / 10);
+        // Redis 中的令牌桶在本地令牌桶移除后仍保留一段时间, 以免配额被提前重置
+        Duration keyTimeToLive = Duration.ofMillis(intervalMillis).plus(LOCAL_BUCKET_IDLE.multipliedBy(2));
+        return new LeasedTokenBucket(redisService.getRateLimiter(key), rateLimit.rate(), intervalMillis,
+                (int) Math.min(lease, rateLimit.rate()), keyTimeToLive, failOpenWindow);
+    }
+
+}
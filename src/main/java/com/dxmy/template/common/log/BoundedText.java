@@ -0,0 +1,192 @@
+package com.dxmy.template.common.log;
+
+import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 有界日志文本 - 作为日志参数传入, 仅在日志事件被格式化时才渲染, 渲染达到长度上限后立即停止
+ * <p>
+ * 集合, 映射与数组逐个元素渲染, 超出上限的元素不会被访问; 其他对象使用 toString 后截断
+ * <p>
+ * 渲染使用线程内复用的缓冲区, 仅最终结果分配字符串
+ */
+public abstract class BoundedText {
+
+    /** 截断后缀 */
+    private static final String ELLIPSIS = "...";
+    /** 线程内缓冲区保留的最大容量, 超过后丢弃以免长期占用内存 */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+    /** 达到长度上限时用于中止渲染, 不记录调用栈 */
+    private static final LimitReachedException LIMIT_REACHED = new LimitReachedException();
+
+    private final int limit;
+
+    protected BoundedText(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * 有界渲染任意对象
+     *
+     * @param value 对象
+     * @param limit 长度上限
+     * @return 延迟渲染的日志参数
+     */
+    public static BoundedText of(Object value, int limit) {
+        return new BoundedText(limit) {
+            @Override
+            protected void render(Output out) {
+                out.appendValue(value);
+            }
+        };
+    }
+
+    /**
+     * 有界渲染字节内容, 超出上限的字节不会被解码
+     *
+     * @param bytes   字节内容
+     * @param length  有效字节数
+     * @param charset 字符集
+     * @param limit   长度上限
+     * @return 延迟渲染的日志参数
+     */
+    public static BoundedText of(byte[] bytes, int length, Charset charset, int limit) {
+        return new BoundedText(limit) {
+            @Override
+            protected void render(Output out) {
+                out.append(new String(bytes, 0, Math.min(length, limit + 1), charset));
+            }
+        };
+    }
+
+    /**
+     * 渲染内容
+     */
+    protected abstract void render(Output out);
+
+    @Override
+    public String toString() {
+        // 渲染过程中可能再次渲染其他有界文本 (如元素的 toString), 此时缓冲区已被占用, 改用新缓冲区
+        StringBuilder builder = BUFFER.get();
+        boolean reused = builder.isEmpty();
+        if (!reused)
+            builder = new StringBuilder();
+
+        try {
+            try {
+                render(new Output(builder, limit));
+            } catch (LimitReachedException e) {
+                builder.setLength(limit);
+                builder.append(ELLIPSIS);
+            }
+            return builder.toString();
+        } finally {
+            if (reused) {
+                if (builder.capacity() > MAX_RETAINED_CAPACITY)
+                    BUFFER.remove();
+                else
+                    builder.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * 有界输出, 达到长度上限时中止渲染
+     */
+    protected static final class Output {
+
+        private final StringBuilder builder;
+        private final int limit;
+
+        private Output(StringBuilder builder, int limit) {
+            this.builder = builder;
+            this.limit = limit;
+        }
+
+        /**
+         * 追加文本
+         */
+        public Output append(CharSequence text) {
+            int remaining = limit - builder.length();
+            if (text.length() > remaining) {
+                builder.append(text, 0, remaining);
+                throw LIMIT_REACHED;
+            }
+            builder.append(text);
+            return this;
+        }
+
+        /**
+         * 追加字符
+         */
+        public Output append(char c) {
+            if (builder.length() >= limit)
+                throw LIMIT_REACHED;
+            builder.append(c);
+            return this;
+        }
+
+        /**
+         * 追加对象, 集合, 映射与数组逐个元素追加
+         */
+        public Output appendValue(Object value) {
+            if (value == null)
+                return append("null");
+            if (value instanceof CharSequence text)
+                return append(text);
+
+            if (value instanceof Collection<?> collection) {
+                append('[');
+                boolean first = true;
+                for (Object element : collection) {
+                    if (!first)
+                        append(", ");
+                    first = false;
+                    appendValue(element);
+                }
+                return append(']');
+            }
+
+            if (value instanceof Map<?, ?> map) {
+                append('{');
+                boolean first = true;
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (!first)
+                        append(", ");
+                    first = false;
+                    appendValue(entry.getKey()).append('=').appendValue(entry.getValue());
+                }
+                return append('}');
+            }
+
+            if (value.getClass().isArray()) {
+                append('[');
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) {
+                    if (i > 0)
+                        append(", ");
+                    appendValue(Array.get(value, i));
+                }
+                return append(']');
+            }
+
+            return append(value.toString());
+        }
+
+    }
+
+    /**
+     * 达到长度上限
+     */
+    private static final class LimitReachedException extends RuntimeException {
+
+        private LimitReachedException() {
+            super(null, null, false, false);
+        }
+
+    }
+
+}
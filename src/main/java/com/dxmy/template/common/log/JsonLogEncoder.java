@@ -0,0 +1,191 @@
+package com.dxmy.template.common.log;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON 结构化日志编码器 - 每条日志输出为一行 JSON, 包含 MDC 中的全部字段 (traceId, userId 等)
+ * <p>
+ * 时间以 UTC 输出 (如 2024-01-01T08:00:00.000Z), 不受服务器时区与夏令时影响;
+ * 与固定字段同名的 MDC 键会加上 "mdc." 前缀, 以免输出重复的键.
+ * 消息中的 ANSI 颜色代码会被去除; 字符缓冲区与字节缓冲区在线程内复用, 每条日志仅分配最终的字节数组
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final char ESCAPE = '\u001B';
+    private static final int INITIAL_CAPACITY = 1024;
+    /** 线程内缓冲区保留的最大容量, 超过后丢弃以免长期占用内存 */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final DateTimeFormatter SECOND_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+    /** 固定输出的字段名 */
+    private static final Set<String> RESERVED_FIELDS = Set.of("time", "level", "thread", "logger", "message", "exception");
+    /** 与固定字段同名的 MDC 键的前缀 */
+    private static final String MDC_PREFIX = "mdc.";
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final JsonStringEncoder stringEncoder = JsonStringEncoder.getInstance();
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        Buffers buffers = BUFFERS.get();
+        StringBuilder builder = buffers.chars;
+        builder.setLength(0);
+
+        builder.append("{\"time\":\"");
+        appendTimestamp(buffers, event.getTimeStamp());
+        builder.append("\",\"level\":\"").append(event.getLevel().toString());
+        appendField(builder, "thread", event.getThreadName());
+        appendField(builder, "logger", event.getLoggerName());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null)
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                String key = entry.getKey();
+                appendField(builder, RESERVED_FIELDS.contains(key) ? MDC_PREFIX + key : key, entry.getValue());
+            }
+
+        builder.append("\",\"message\":\"");
+        appendEscaped(builder, stripAnsi(event.getFormattedMessage(), buffers.scratch));
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null)
+            appendField(builder, "exception", ThrowableProxyUtil.asString(throwable));
+        builder.append("\"}\n");
+
+        byte[] bytes = toBytes(buffers);
+        buffers.trim();
+        return bytes;
+    }
+
+    private void appendField(StringBuilder builder, String name, String value) {
+        builder.append("\",\"");
+        appendEscaped(builder, name);
+        builder.append("\":\"");
+        appendEscaped(builder, value);
+    }
+
+    private void appendEscaped(StringBuilder builder, CharSequence value) {
+        if (value != null)
+            stringEncoder.quoteAsString(value, builder);
+    }
+
+    /**
+     * 追加 UTC 时间戳, 同一秒内复用已格式化的部分
+     */
+    private void appendTimestamp(Buffers buffers, long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000);
+        if (second != buffers.cachedSecond) {
+            buffers.cachedSecond = second;
+            buffers.cachedSecondText = SECOND_FORMATTER.format(Instant.ofEpochSecond(second));
+        }
+
+        int millis = (int) Math.floorMod(timestamp, 1000);
+        buffers.chars.append(buffers.cachedSecondText)
+                     .append('.')
+                     .append((char) ('0' + millis / 100))
+                     .append((char) ('0' + millis / 10 % 10))
+                     .append((char) ('0' + millis % 10))
+                     .append('Z');
+    }
+
+    /**
+     * 去除 ANSI 转义序列 (ESC [ ... 字母)
+     */
+    private static CharSequence stripAnsi(String message, StringBuilder scratch) {
+        if (message == null || message.indexOf(ESCAPE) < 0)
+            return message;
+
+        scratch.setLength(0);
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c == ESCAPE && i + 1 < length && message.charAt(i + 1) == '[') {
+                i += 2;
+                while (i < length && !Character.isLetter(message.charAt(i)))
+                    i++;
+                continue;
+            }
+            scratch.append(c);
+        }
+        return scratch;
+    }
+
+    /**
+     * 将字符缓冲区编码为 UTF-8, 经由复用的字节缓冲区
+     */
+    private static byte[] toBytes(Buffers buffers) {
+        CharBuffer chars = CharBuffer.wrap(buffers.chars);
+        ByteBuffer bytes = buffers.bytes;
+        CharsetEncoder encoder = buffers.encoder.reset();
+        bytes.clear();
+
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, true);
+            if (result.isUnderflow())
+                result = encoder.flush(bytes);
+            if (result.isUnderflow())
+                break;
+            // 字节缓冲区不足时扩容后继续编码
+            ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+            bytes.flip();
+            larger.put(bytes);
+            bytes = larger;
+            buffers.bytes = larger;
+        }
+        return Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+    /**
+     * 线程内复用的缓冲区
+     */
+    private static class Buffers {
+
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private StringBuilder chars = new StringBuilder(INITIAL_CAPACITY);
+        private StringBuilder scratch = new StringBuilder(INITIAL_CAPACITY);
+        private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_CAPACITY * 4);
+        private long cachedSecond = Long.MIN_VALUE;
+        private String cachedSecondText;
+
+        /**
+         * 释放被超长日志撑大的缓冲区
+         */
+        private void trim() {
+            if (chars.capacity() > MAX_RETAINED_CAPACITY)
+                chars = new StringBuilder(INITIAL_CAPACITY);
+            if (scratch.capacity() > MAX_RETAINED_CAPACITY)
+                scratch = new StringBuilder(INITIAL_CAPACITY);
+            if (bytes.capacity() > MAX_RETAINED_CAPACITY * 4)
+                bytes = ByteBuffer.allocate(INITIAL_CAPACITY * 4);
+        }
+
+    }
+
+}
@@ -0,0 +1,329 @@
+package com.dxmy.template.common.log.method;
+
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.Model;
+import org.springframework.validation.Errors;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 方法参数与返回值快照 - 将参数转换为有界的 JSON 树, 供操作日志记录
+ * <p>
+ * 每个方法首次调用时生成并缓存快照计划: 跳过 Servlet 对象, 文件与流, 对 {@link Sensitive} 标注的参数与字段打码;
+ * 快照限制嵌套深度, 集合元素数, 字符串长度与节点总数, 超出部分不会被访问
+ */
+@Component
+public class ArgSnapshotter {
+
+    /** 最大嵌套深度 */
+    private static final int MAX_DEPTH = 4;
+    /** 集合, 数组与映射的最大元素数 */
+    private static final int MAX_ELEMENTS = 20;
+    /** 字符串的最大长度 */
+    private static final int MAX_STRING_LENGTH = 500;
+    /** 单次快照的最大节点数 */
+    private static final int MAX_NODES = 500;
+    /** 敏感数据掩码 */
+    private static final String MASK = "******";
+
+    /** 不记录内容的类型, 仅记录类型名称 */
+    private static final List<Class<?>> SKIPPED_TYPES = List.of(
+            ServletRequest.class, ServletResponse.class, HttpSession.class,
+            InputStreamSource.class, InputStream.class, OutputStream.class, Reader.class, Writer.class,
+            Errors.class, Model.class, StreamingResponseBody.class, ResponseBodyEmitter.class
+    );
+
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+    /** 各方法的快照计划 */
+    private final Map<Method, MethodPlan> methodPlans = new ConcurrentHashMap<>();
+    /** 各类型的属性 */
+    private final Map<Class<?>, List<PropertyPlan>> propertyPlans = new ConcurrentHashMap<>();
+
+    /**
+     * 生成方法参数快照
+     *
+     * @param method 方法
+     * @param args   参数
+     * @return 各参数的快照
+     */
+    public Object[] snapshotArgs(Method method, Object[] args) {
+        MethodPlan plan = getMethodPlan(method);
+        Object[] snapshots = new Object[args.length];
+        Budget budget = new Budget();
+        for (int i = 0; i < args.length; i++) {
+            ParamMode mode = i < plan.paramModes.length ? plan.paramModes[i] : ParamMode.CAPTURE;
+            snapshots[i] = switch (mode) {
+                case SKIP -> describeSkipped(args[i]);
+                case REDACT -> MASK;
+                case CAPTURE -> snapshot(args[i], 0, budget);
+            };
+        }
+        return snapshots;
+    }
+
+    /**
+     * 生成方法返回值快照
+     *
+     * @param method 方法
+     * @param value  返回值
+     * @return 返回值的快照
+     */
+    public Object snapshotReturn(Method method, Object value) {
+        return switch (getMethodPlan(method).returnMode) {
+            case SKIP -> describeSkipped(value);
+            case REDACT -> MASK;
+            case CAPTURE -> snapshot(value, 0, new Budget());
+        };
+    }
+
+    private MethodPlan getMethodPlan(Method method) {
+        MethodPlan plan = methodPlans.get(method);
+        if (plan != null)
+            return plan;
+        return methodPlans.computeIfAbsent(method, MethodPlan::new);
+    }
+
+    /**
+     * 生成对象快照
+     */
+    private JsonNode snapshot(Object value, int depth, Budget budget) {
+        if (!budget.take())
+            return NODE_FACTORY.textNode("...");
+
+        if (value == null)
+            return NODE_FACTORY.nullNode();
+        if (value instanceof CharSequence text)
+            return NODE_FACTORY.textNode(truncate(text));
+        if (value instanceof Boolean bool)
+            return NODE_FACTORY.booleanNode(bool);
+        if (value instanceof Number || value instanceof Character || value instanceof Enum<?>)
+            return toScalar(value);
+        if (isSkipped(value.getClass()))
+            return describeSkipped(value);
+        if (depth >= MAX_DEPTH)
+            return NODE_FACTORY.textNode("<" + value.getClass().getSimpleName() + ">");
+
+        if (value instanceof byte[] bytes)
+            return NODE_FACTORY.textNode("<byte[" + bytes.length + "]>");
+        if (value instanceof Collection<?> collection)
+            return snapshotElements(collection.iterator(), collection.size(), depth, budget);
+        if (value.getClass().isArray())
+            return snapshotArray(value, depth, budget);
+        if (value instanceof Map<?, ?> map)
+            return snapshotMap(map, depth, budget);
+
+        List<PropertyPlan> properties = getPropertyPlans(value.getClass());
+        if (properties.isEmpty())
+            return toScalar(value);
+        return snapshotBean(value, properties, depth, budget);
+    }
+
+    private ArrayNode snapshotElements(Iterator<?> iterator, int size, int depth, Budget budget) {
+        ArrayNode node = NODE_FACTORY.arrayNode();
+        for (int i = 0; i < MAX_ELEMENTS && iterator.hasNext(); i++)
+            node.add(snapshot(iterator.next(), depth + 1, budget));
+        if (size > MAX_ELEMENTS)
+            node.add("... (" + size + " elements)");
+        return node;
+    }
+
+    private ArrayNode snapshotArray(Object array, int depth, Budget budget) {
+        ArrayNode node = NODE_FACTORY.arrayNode();
+        int length = Array.getLength(array);
+        for (int i = 0; i < Math.min(length, MAX_ELEMENTS); i++)
+            node.add(snapshot(Array.get(array, i), depth + 1, budget));
+        if (length > MAX_ELEMENTS)
+            node.add("... (" + length + " elements)");
+        return node;
+    }
+
+    private ObjectNode snapshotMap(Map<?, ?> map, int depth, Budget budget) {
+        ObjectNode node = NODE_FACTORY.objectNode();
+        int count = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (count++ >= MAX_ELEMENTS) {
+                node.put("...", map.size() + " entries");
+                break;
+            }
+            node.set(String.valueOf(entry.getKey()), snapshot(entry.getValue(), depth + 1, budget));
+        }
+        return node;
+    }
+
+    private ObjectNode snapshotBean(Object bean, List<PropertyPlan> properties, int depth, Budget budget) {
+        ObjectNode node = NODE_FACTORY.objectNode();
+        for (PropertyPlan property : properties) {
+            if (property.sensitive) {
+                node.put(property.name, MASK);
+                continue;
+            }
+            try {
+                node.set(property.name, snapshot(property.accessor.getValue(bean), depth + 1, budget));
+            } catch (Exception e) {
+                node.put(property.name, "<" + e.getClass().getSimpleName() + ">");
+            }
+        }
+        return node;
+    }
+
+    /**
+     * 获取类型的可序列化属性, 与 Jackson 的属性发现规则一致; 非 Bean 类型返回空列表
+     */
+    private List<PropertyPlan> getPropertyPlans(Class<?> type) {
+        List<PropertyPlan> plans = propertyPlans.get(type);
+        if (plans != null)
+            return plans;
+
+        return propertyPlans.computeIfAbsent(type, t -> {
+            ObjectMapper mapper = JacksonTypeHandler.getObjectMapper();
+            // 非 Bean 类型 (日期, UUID 等) 按 Jackson 的标量序列化规则处理
+            try {
+                if (!(mapper.getSerializerProviderInstance().findValueSerializer(t) instanceof BeanSerializerBase))
+                    return List.of();
+            } catch (JsonMappingException e) {
+                return List.of();
+            }
+
+            BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(t));
+            List<PropertyPlan> result = new ArrayList<>();
+            for (BeanPropertyDefinition property : description.findProperties()) {
+                AnnotatedMember accessor = property.getAccessor();
+                if (accessor == null)
+                    continue;
+                accessor.fixAccess(true);
+                boolean sensitive = accessor.hasAnnotation(Sensitive.class)
+                        || property.getField() != null && property.getField().hasAnnotation(Sensitive.class);
+                result.add(new PropertyPlan(property.getName(), accessor, sensitive));
+            }
+            return List.copyOf(result);
+        });
+    }
+
+    private JsonNode toScalar(Object value) {
+        try {
+            return JacksonTypeHandler.getObjectMapper().valueToTree(value);
+        } catch (IllegalArgumentException e) {
+            return NODE_FACTORY.textNode(truncate(String.valueOf(value)));
+        }
+    }
+
+    /**
+     * 描述不记录内容的对象, 文件记录文件名与大小
+     */
+    private JsonNode describeSkipped(Object value) {
+        if (value == null)
+            return NODE_FACTORY.nullNode();
+        if (value instanceof MultipartFile file)
+            return NODE_FACTORY.textNode("<MultipartFile: " + file.getOriginalFilename() + ", " + file.getSize() + " bytes>");
+        return NODE_FACTORY.textNode("<" + value.getClass().getSimpleName() + ">");
+    }
+
+    private static String truncate(CharSequence text) {
+        if (text.length() <= MAX_STRING_LENGTH)
+            return text.toString();
+        return text.subSequence(0, MAX_STRING_LENGTH) + "...";
+    }
+
+    private static boolean isSkipped(Class<?> type) {
+        for (Class<?> skippedType : SKIPPED_TYPES)
+            if (skippedType.isAssignableFrom(type))
+                return true;
+        return false;
+    }
+
+    /**
+     * 参数记录方式
+     */
+    private enum ParamMode {
+
+        /** 记录有界快照 */
+        CAPTURE,
+        /** 仅记录类型 */
+        SKIP,
+        /** 打码 */
+        REDACT
+
+    }
+
+    /**
+     * 方法的快照计划
+     */
+    private static class MethodPlan {
+
+        private final ParamMode[] paramModes;
+        private final ParamMode returnMode;
+
+        private MethodPlan(Method method) {
+            Parameter[] parameters = method.getParameters();
+            this.paramModes = new ParamMode[parameters.length];
+            for (int i = 0; i < parameters.length; i++)
+                paramModes[i] = parameters[i].isAnnotationPresent(Sensitive.class) ? ParamMode.REDACT :
+                        isSkipped(parameters[i].getType()) ? ParamMode.SKIP : ParamMode.CAPTURE;
+            this.returnMode = method.isAnnotationPresent(Sensitive.class) ? ParamMode.REDACT :
+                    isSkipped(method.getReturnType()) ? ParamMode.SKIP : ParamMode.CAPTURE;
+        }
+
+    }
+
+    /**
+     * 属性的快照计划
+     */
+    private static class PropertyPlan {
+
+        private final String name;
+        private final AnnotatedMember accessor;
+        private final boolean sensitive;
+
+        private PropertyPlan(String name, AnnotatedMember accessor, boolean sensitive) {
+            this.name = name;
+            this.accessor = accessor;
+            this.sensitive = sensitive;
+        }
+
+    }
+
+    /**
+     * 单次快照的节点预算
+     */
+    private static class Budget {
+
+        private int remaining = MAX_NODES;
+
+        private boolean take() {
+            return remaining-- > 0;
+        }
+
+    }
+
+}
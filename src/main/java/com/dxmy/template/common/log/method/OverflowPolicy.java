@@ -0,0 +1,15 @@
+package com.dxmy.template.common.log.method;
+
+/**
+ * 操作日志缓冲区已满时的处理策略
+ */
+public enum OverflowPolicy {
+
+    /** 阻塞调用方直至缓冲区有空位, 超时后丢弃 */
+    BLOCK,
+    /** 直接丢弃 */
+    DROP,
+    /** 由调用方追加写入本地日志文件, 由后台线程回放入库; 未启用本地日志文件或日志文件已满时丢弃 */
+    SPILL
+
+}
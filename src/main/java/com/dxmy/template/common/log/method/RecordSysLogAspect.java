@@ -6,8 +6,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 
 /**
@@ -24,13 +26,21 @@ public class RecordSysLogAspect {
     @Resource
     private HttpServletRequest request;
 
+    @Resource
+    private SysLogWriter sysLogWriter;
+
+    @Resource
+    private ArgSnapshotter argSnapshotter;
+
     @Around("@annotation(recordSysLog)")
     public Object recordSysLog(ProceedingJoinPoint joinPoint, RecordSysLog recordSysLog) throws Throwable {
         // 调用方法相关
         String logTitle = recordSysLog.value();
         String className = joinPoint.getTarget().getClass().getName();
         String methodName = joinPoint.getSignature().getName();
-        Object[] methodArgs = joinPoint.getArgs();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        // 执行前生成参数快照, 记录调用时的参数状态
+        Object[] methodArgs = argSnapshotter.snapshotArgs(method, joinPoint.getArgs());
 
         // 执行方法相关
         Object result = null;
@@ -46,22 +56,22 @@ public class RecordSysLogAspect {
         } finally {
             long costTime = System.currentTimeMillis() - startTime;
 
-            // 构建并持久化系统操作日志
-            SysLog.builder()
-                  .title(logTitle)
-                  .type(logType)
-                  .className(className)
-                  .methodName(methodName)
-                  .methodArgs(methodArgs)
-                  .methodReturn(result)
-                  .requestMethod(request.getMethod())
-                  .requestUri(request.getRequestURI())
-                  .costTime(costTime)
-                  .exception(exceptionMessage)
-                  .operatorId(UserContext.getCurrentUserId())
-                  .completionTime(LocalDateTime.now())
-                  .build()
-                  .insert();
+            // 构建系统操作日志, 交由写入器异步持久化
+            SysLog sysLog = SysLog.builder()
+                                  .title(logTitle)
+                                  .type(logType)
+                                  .className(className)
+                                  .methodName(methodName)
+                                  .methodArgs(methodArgs)
+                                  .methodReturn(argSnapshotter.snapshotReturn(method, result))
+                                  .requestMethod(request.getMethod())
+                                  .requestUri(request.getRequestURI())
+                                  .costTime(costTime)
+                                  .exception(exceptionMessage)
+                                  .operatorId(UserContext.getCurrentUserId())
+                                  .completionTime(LocalDateTime.now())
+                                  .build();
+            sysLogWriter.write(sysLog);
         }
 
         return result;
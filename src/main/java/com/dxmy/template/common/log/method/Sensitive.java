@@ -0,0 +1,13 @@
+package com.dxmy.template.common.log.method;
+
+import java.lang.annotation.*;
+
+/**
+ * 敏感数据注解 - 标注的方法参数或字段在操作日志中以掩码记录
+ */
+@Documented
+@Target({ElementType.PARAMETER, ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Sensitive {
+
+}
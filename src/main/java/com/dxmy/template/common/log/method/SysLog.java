@@ -3,6 +3,7 @@ package com.dxmy.template.common.log.method;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
 import com.baomidou.mybatisplus.extension.activerecord.Model;
 import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -21,6 +22,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(name = "系统操作日志")
+@TableName(autoResultMap = true)
 public class SysLog extends Model<SysLog> {
 
     @Schema(name = "日志编号", example = "1")
@@ -66,9 +68,9 @@ public class SysLog extends Model<SysLog> {
     private LocalDateTime completionTime;
 
     /*
-    SQL 建表语句:
+    SQL 建表语句 (按月分区, 分区由 SysLogArchiver 定时创建与归档, 分区列须包含在主键中):
     CREATE TABLE `sys_log` (
-        `id` BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '日志编号',
+        `id` BIGINT AUTO_INCREMENT COMMENT '日志编号',
         `title` VARCHAR(255) NOT NULL COMMENT '日志标题',
         `type` TINYINT NOT NULL COMMENT '日志类型 (0-正常, 9-异常)',
         `class_name` VARCHAR(255) NOT NULL COMMENT '类名',
@@ -81,8 +83,12 @@ public class SysLog extends Model<SysLog> {
         `exception` TEXT COMMENT '异常信息',
         `operator_id` BIGINT COMMENT '操作者 ID',
         `completion_time` DATETIME NOT NULL COMMENT '操作完成时间',
+        PRIMARY KEY (`id`, `completion_time`),
         INDEX `idx_operator_id` (`operator_id`),
         INDEX `idx_completion_time` (`completion_time`)
-    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='系统操作日志';
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='系统操作日志'
+    PARTITION BY RANGE COLUMNS (`completion_time`) (
+        PARTITION `p_future` VALUES LESS THAN (MAXVALUE)
+    );
     */
 }
@@ -0,0 +1,41 @@
+package com.dxmy.template.common.log.method;
+
+import org.quartz.CronScheduleBuilder;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 操作日志归档任务配置 - 关闭归档 (app.sys-log.archive.enabled=false) 时不注册任务与触发器
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sys-log.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SysLogArchiveConfig {
+
+    private static final String JOB_NAME = "sysLogArchive";
+
+    @Bean
+    public JobDetail sysLogArchiveJobDetail() {
+        return JobBuilder.newJob(SysLogArchiveJob.class)
+                         .withIdentity(JOB_NAME)
+                         .withDescription("操作日志分区维护与归档")
+                         .storeDurably()
+                         .build();
+    }
+
+    @Bean
+    public Trigger sysLogArchiveTrigger(JobDetail sysLogArchiveJobDetail, SysLogArchiver sysLogArchiver) {
+        // 错过执行时间 (如调度线程繁忙) 时, 立即补执行一次
+        return TriggerBuilder.newTrigger()
+                             .forJob(sysLogArchiveJobDetail)
+                             .withIdentity(JOB_NAME)
+                             .withSchedule(CronScheduleBuilder.cronSchedule(sysLogArchiver.getCron())
+                                                              .withMisfireHandlingInstructionFireAndProceed())
+                             .build();
+    }
+
+}
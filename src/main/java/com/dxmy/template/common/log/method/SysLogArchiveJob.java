@@ -0,0 +1,23 @@
+package com.dxmy.template.common.log.method;
+
+import jakarta.annotation.Resource;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * 操作日志分区维护与归档任务
+ */
+@DisallowConcurrentExecution
+public class SysLogArchiveJob extends QuartzJobBean {
+
+    @Resource
+    private SysLogArchiver sysLogArchiver;
+
+    @Override
+    protected void executeInternal(@NonNull JobExecutionContext context) {
+        sysLogArchiver.run();
+    }
+
+}
@@ -0,0 +1,316 @@
+package com.dxmy.template.common.log.method;
+
+import com.dxmy.template.common.cache.RedisService;
+import com.dxmy.template.common.oss.MinioManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Resource;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 操作日志归档器 - 维护操作日志表的按月分区, 并将过期分区以 gzip 压缩的 NDJSON 归档到 MinIO 后删除
+ * <p>
+ * 分区 pYYYYMM 保存该月的日志, 兜底分区 p_future 接收尚未创建分区的日志; 多节点部署时由分布式锁保证只有一个节点执行.
+ * 过期分区按月份顺序归档, 遇到失败即停止, 因此已归档的月份总是早于数据库中最早的月分区
+ */
+@Slf4j
+@Component
+@ConfigurationProperties("app.sys-log.archive")
+public class SysLogArchiver {
+
+    /** 兜底分区名称 */
+    public static final String FUTURE_PARTITION = "p_future";
+
+    /** 归档任务锁的键 */
+    private static final String LOCK_KEY = "lock:sys-log:archive";
+    /** 月分区名称格式 */
+    private static final Pattern PARTITION_PATTERN = Pattern.compile("p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+    /** 归档文件名后缀 */
+    private static final String ARCHIVE_SUFFIX = ".ndjson.gz";
+    private static final String ARCHIVE_CONTENT_TYPE = "application/gzip";
+    /** 归档文件写入缓冲区大小 */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** 是否开启分区维护与归档 */
+    @Setter
+    private Boolean enabled = true;
+    /** 执行时间 (cron 表达式) */
+    @Getter
+    @Setter
+    private String cron = "0 30 2 * * ?";
+    /** 数据库中保留的月数 (含当月), 更早的分区将被归档 */
+    @Setter
+    private Integer retentionMonths = 6;
+    /** 提前创建的分区月数 */
+    @Setter
+    private Integer aheadMonths = 2;
+    /** 归档对象的路径前缀 */
+    @Getter
+    @Setter
+    private String pathPrefix = "archive/sys-log/";
+    /** 归档时每批读取的条数 */
+    @Setter
+    private Integer batchSize = 1000;
+
+    @Resource
+    private SysLogMapper sysLogMapper;
+    @Resource
+    private MinioManager minioManager;
+    @Resource
+    private RedisService redisService;
+    @Resource
+    private ObjectMapper objectMapper;
+
+    /**
+     * 创建后续月份的分区, 并归档过期分区
+     */
+    public void run() {
+        if (!enabled)
+            return;
+
+        RLock lock = redisService.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            log.info("[操作日志归档] 其他节点正在执行归档, 跳过本次执行");
+            return;
+        }
+
+        try {
+            List<String> partitions = sysLogMapper.selectPartitionNames();
+            if (!partitions.contains(FUTURE_PARTITION)) {
+                log.warn("[操作日志归档] 操作日志表未按月分区或缺少兜底分区 {}, 跳过分区维护", FUTURE_PARTITION);
+                return;
+            }
+            createPartitions(partitions);
+            // 首次拆分可能创建已过期的分区, 重新查询后归档
+            archiveExpiredPartitions(sysLogMapper.selectPartitionNames());
+        } finally {
+            if (lock.isHeldByCurrentThread())
+                lock.unlock();
+        }
+    }
+
+    /**
+     * 获取数据库中最早的月分区所在月份, 更早月份的日志已归档; 未分区或没有月分区时返回 null
+     *
+     * @return 最早的月分区所在月份
+     */
+    public YearMonth getOldestLiveMonth() {
+        for (String partition : sysLogMapper.selectPartitionNames()) {
+            YearMonth month = parsePartitionMonth(partition);
+            if (month != null)
+                return month;
+        }
+        return null;
+    }
+
+    /**
+     * 获取指定月份的归档对象名
+     *
+     * @param month 月份
+     * @return 归档对象名
+     */
+    public String getArchiveObjectName(YearMonth month) {
+        return pathPrefix + "sys_log-" + month + ARCHIVE_SUFFIX;
+    }
+
+    /**
+     * 从归档对象名中解析月份, 不是归档对象时返回 null
+     *
+     * @param objectName 归档对象名
+     * @return 月份
+     */
+    public YearMonth parseArchiveMonth(String objectName) {
+        String prefix = pathPrefix + "sys_log-";
+        if (!objectName.startsWith(prefix) || !objectName.endsWith(ARCHIVE_SUFFIX))
+            return null;
+        try {
+            return YearMonth.parse(objectName.substring(prefix.length(), objectName.length() - ARCHIVE_SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 从兜底分区中拆分出缺少的月分区, 直到提前创建的月份, 所有分区在一条语句中拆分
+     */
+    private void createPartitions(List<String> partitions) {
+        YearMonth lastMonth = null;
+        for (String partition : partitions) {
+            YearMonth month = parsePartitionMonth(partition);
+            if (month != null)
+                lastMonth = month;
+        }
+
+        // 尚无月分区时兜底分区可能已有历史日志, 需从日志的最早月份开始拆分, 以免历史日志全部落入当月分区
+        YearMonth minDataMonth = lastMonth == null ? toMonth(sysLogMapper.selectMinCompletionTime(FUTURE_PARTITION)) : null;
+        YearMonth maxDataMonth = toMonth(sysLogMapper.selectMaxCompletionTime(FUTURE_PARTITION));
+        List<YearMonth> months = planPartitions(lastMonth, minDataMonth, maxDataMonth, YearMonth.now(), aheadMonths);
+        if (months.isEmpty())
+            return;
+
+        Map<String, String> bounds = new LinkedHashMap<>();
+        for (YearMonth month : months)
+            bounds.put(toPartitionName(month), month.plusMonths(1).atDay(1).toString());
+        try {
+            sysLogMapper.addPartitions(bounds, FUTURE_PARTITION);
+            log.info("[操作日志归档] 已创建分区: {} ~ {}, 共 {} 个", months.get(0), months.get(months.size() - 1), months.size());
+        } catch (RuntimeException e) {
+            log.error("[操作日志归档] 创建分区失败: {} ~ {}", months.get(0), months.get(months.size() - 1), e);
+        }
+    }
+
+    /**
+     * 按月份顺序归档并删除超出保留月数的分区, 遇到失败即停止, 其余分区保留到下次执行
+     */
+    private void archiveExpiredPartitions(List<String> partitions) {
+        YearMonth cutoff = archiveCutoff(YearMonth.now(), retentionMonths);
+        for (String partition : partitions) {
+            YearMonth month = parsePartitionMonth(partition);
+            if (month == null || !month.isBefore(cutoff))
+                continue;
+
+            try {
+                long archived = archivePartition(partition, month);
+                sysLogMapper.dropPartition(partition);
+                log.info("[操作日志归档] 已归档并删除分区: {}, 日志条数: {}", partition, archived);
+            } catch (Exception e) {
+                // 跳过失败的分区继续归档会使已归档的月份不连续, 按月份查询时将遗漏该分区
+                log.error("[操作日志归档] 归档分区失败, 停止本次归档: {}", partition, e);
+                break;
+            }
+        }
+    }
+
+    /**
+     * 将分区内的日志写入临时文件, 上传后校验归档对象已存在
+     *
+     * @return 归档的日志条数
+     */
+    private long archivePartition(String partition, YearMonth month) throws Exception {
+        long expected = sysLogMapper.countPartition(partition);
+        String objectName = getArchiveObjectName(month);
+        Path tempFile = Files.createTempFile("sys-log-archive-", ARCHIVE_SUFFIX);
+        try {
+            long written = writeArchive(partition, tempFile);
+            if (written < expected)
+                throw new IllegalStateException("归档条数 " + written + " 少于分区条数 " + expected);
+
+            try (InputStream inputStream = Files.newInputStream(tempFile)) {
+                minioManager.uploadStream(objectName, inputStream, Files.size(tempFile), ARCHIVE_CONTENT_TYPE);
+            }
+            if (!minioManager.doesFileExist(objectName))
+                throw new IllegalStateException("上传后未找到归档对象: " + objectName);
+            return written;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * 按编号分页读取分区, 每条日志写为一行 JSON
+     */
+    private long writeArchive(String partition, Path file) throws IOException {
+        long written = 0;
+        try (OutputStream outputStream = new GZIPOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), BUFFER_SIZE)) {
+            long afterId = 0;
+            List<SysLog> page;
+            do {
+                page = sysLogMapper.selectPartitionPage(partition, afterId, batchSize);
+                for (SysLog sysLog : page) {
+                    outputStream.write(objectMapper.writeValueAsBytes(sysLog));
+                    outputStream.write('\n');
+                }
+                if (!page.isEmpty())
+                    afterId = page.get(page.size() - 1).getId();
+                written += page.size();
+            } while (page.size() == batchSize);
+        }
+        return written;
+    }
+
+    /**
+     * 计算需要创建的月分区
+     *
+     * @param lastMonth    已有的最后一个月分区所在月份, 没有月分区时为 null
+     * @param minDataMonth 兜底分区中最早日志的月份, 为空时为 null
+     * @param maxDataMonth 兜底分区中最晚日志的月份, 为空时为 null
+     * @param currentMonth 当月
+     * @param aheadMonths  提前创建的分区月数
+     * @return 按顺序排列的月份
+     */
+    static List<YearMonth> planPartitions(YearMonth lastMonth, YearMonth minDataMonth, YearMonth maxDataMonth,
+            YearMonth currentMonth, int aheadMonths) {
+        YearMonth start;
+        if (lastMonth != null)
+            start = lastMonth.plusMonths(1);
+        else
+            start = minDataMonth != null && minDataMonth.isBefore(currentMonth) ? minDataMonth : currentMonth;
+
+        YearMonth end = currentMonth.plusMonths(aheadMonths);
+        if (maxDataMonth != null && maxDataMonth.isAfter(end))
+            end = maxDataMonth;
+
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1))
+            months.add(month);
+        return months;
+    }
+
+    /**
+     * 计算归档的截止月份, 早于该月份的分区将被归档; 至少保留当月
+     *
+     * @param currentMonth    当月
+     * @param retentionMonths 数据库中保留的月数 (含当月)
+     * @return 截止月份
+     */
+    static YearMonth archiveCutoff(YearMonth currentMonth, int retentionMonths) {
+        return currentMonth.minusMonths(Math.max(1, retentionMonths) - 1);
+    }
+
+    static String toPartitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_FORMATTER);
+    }
+
+    /**
+     * 解析月分区所在月份, 不是月分区时返回 null
+     */
+    static YearMonth parsePartitionMonth(String partition) {
+        Matcher matcher = PARTITION_PATTERN.matcher(partition);
+        if (!matcher.matches())
+            return null;
+        try {
+            return YearMonth.parse(matcher.group(1), PARTITION_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static YearMonth toMonth(LocalDateTime time) {
+        return time != null ? YearMonth.from(time) : null;
+    }
+
+}
@@ -0,0 +1,474 @@
+package com.dxmy.template.common.log.method;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 操作日志本地日志文件 - 数据库不可用或写入饱和时暂存操作日志, 待数据库恢复后重放
+ * <p>
+ * 由若干内存映射的定长分段文件组成, 写满后滚动到新分段, 分段全部重放后解除映射并删除.
+ * 下一个分段由后台线程预先创建 ({@link #prepareSegment()}), 滚动时直接启用, 追加只写入内存映射, 不创建文件也不刷盘;
+ * 刷盘由重放线程定期调用 {@link #force()} 完成
+ * <p>
+ * 分段格式: [魔数 4 字节][版本 4 字节][已重放位置 4 字节][保留 4 字节][记录...]
+ * <p>
+ * 记录格式: [负载长度 4 字节][CRC32 4 字节][负载], 长度最后写入, 长度为 0 表示此后尚未写入
+ */
+@Slf4j
+class SysLogJournal {
+
+    private static final int MAGIC = 0x53594C4A;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 16;
+    private static final int REPLAY_OFFSET_POSITION = 8;
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final String FILE_PREFIX = "sys-log-";
+    private static final String FILE_SUFFIX = ".journal";
+
+    /** 解除内存映射的方法 (sun.misc.Unsafe#invokeCleaner), 不可用时为 null, 映射由 GC 回收 */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("[操作日志] 无法解除内存映射, 已删除的日志文件分段将在 GC 后释放: {}", e.getMessage());
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    /** 按顺序排列的分段, 最后一个为当前写入的分段 */
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    /** 预先创建的下一个分段, 没有时为 null */
+    private Segment spare;
+    private long nextSequence;
+
+    SysLogJournal(Path directory, int segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+        recover();
+        segments.addLast(createSegment());
+        prepareSegment();
+    }
+
+    /**
+     * 追加操作日志, 由后台线程调用, 需要滚动而没有预先创建的分段时创建新分段
+     *
+     * @param logs 操作日志
+     * @return 成功追加的条数, 其余因日志文件已满或编码失败而丢弃
+     */
+    int append(List<SysLog> logs) {
+        int appended = 0;
+        for (SysLog sysLog : logs) {
+            byte[] payload = encode(sysLog);
+            if (payload == null)
+                continue;
+
+            AppendResult result = append(payload);
+            if (result == AppendResult.NO_SEGMENT) {
+                prepareSegment();
+                result = append(payload);
+            }
+            if (result == AppendResult.APPENDED)
+                appended++;
+        }
+        return appended;
+    }
+
+    /**
+     * 在调用方线程追加一条操作日志, 不创建文件也不刷盘
+     *
+     * @param sysLog 操作日志
+     * @return 是否追加成功, 日志文件已满或预先创建的分段尚未就绪时返回 false
+     */
+    boolean tryAppend(SysLog sysLog) {
+        byte[] payload = encode(sysLog);
+        return payload != null && append(payload) == AppendResult.APPENDED;
+    }
+
+    /**
+     * 预先创建下一个分段, 由后台线程调用; 已存在或分段数已达上限时不创建
+     * <p>
+     * 文件在锁外创建, 不阻塞追加
+     */
+    void prepareSegment() {
+        synchronized (this) {
+            if (spare != null || segments.size() >= maxSegments)
+                return;
+        }
+
+        Segment segment;
+        try {
+            segment = createSegment();
+        } catch (IOException e) {
+            log.error("[操作日志] 创建日志文件分段失败", e);
+            return;
+        }
+
+        synchronized (this) {
+            if (spare == null) {
+                spare = segment;
+                return;
+            }
+        }
+        delete(segment);
+    }
+
+    /**
+     * 是否存在待重放的日志
+     */
+    synchronized boolean hasPending() {
+        for (Segment segment : segments)
+            if (segment.replayOffset < segment.writePosition)
+                return true;
+        return false;
+    }
+
+    /**
+     * 按写入顺序重放日志, 仅由重放线程调用
+     *
+     * @param batchSize 每批条数
+     * @param sink      写入数据库, 返回从批次开头起已处理 (写入或跳过) 的条数; 少于批次条数时停止重放,
+     *                  下次从第一条未处理的日志继续
+     * @return 重放的条数
+     */
+    int replay(int batchSize, ToIntFunction<List<SysLog>> sink) {
+        int replayed = 0;
+        while (true) {
+            Segment segment = oldestSegment();
+            int end = segment.writePosition;
+            int position = segment.replayOffset;
+
+            // 从已重放位置读取一批记录, 并记录每条日志的结束位置
+            List<SysLog> batch = new ArrayList<>(batchSize);
+            int[] recordEnds = new int[batchSize];
+            while (batch.size() < batchSize && position < end) {
+                int length = segment.buffer.getInt(position);
+                if (length <= 0 || position + RECORD_HEADER_LENGTH + length > end) {
+                    log.warn("[操作日志] 日志文件记录长度无效, 丢弃分段剩余记录: {}, 位置: {}", segment.path, position);
+                    position = end;
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                segment.buffer.get(position + RECORD_HEADER_LENGTH, payload);
+                int crc = segment.buffer.getInt(position + 4);
+                position += RECORD_HEADER_LENGTH + length;
+                if (crc != checksum(payload)) {
+                    log.warn("[操作日志] 日志文件记录校验失败, 跳过: {}, 位置: {}", segment.path, position - RECORD_HEADER_LENGTH - length);
+                    continue;
+                }
+                try {
+                    recordEnds[batch.size()] = position;
+                    batch.add(SysLogRecordCodec.decode(payload));
+                } catch (IOException e) {
+                    log.warn("[操作日志] 日志文件记录解码失败, 跳过: {}", e.getMessage());
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                int processed = sink.applyAsInt(batch);
+                if (processed < batch.size()) {
+                    if (processed > 0)
+                        segment.setReplayOffset(recordEnds[processed - 1]);
+                    return replayed + processed;
+                }
+                replayed += batch.size();
+            }
+            segment.setReplayOffset(position);
+
+            // 已写满且全部重放的分段可以删除, 当前写入的分段保留
+            if (position >= end && !removeIfDrained(segment))
+                return replayed;
+        }
+    }
+
+    /**
+     * 删除已写满且全部重放的分段, 仅由重放线程调用
+     * <p>
+     * 重放完成后才写满的分段不会在重放过程中删除, 因此即使没有待重放的日志也需定期调用
+     */
+    void removeDrained() {
+        Segment segment;
+        while ((segment = oldestSegment()) != null && removeIfDrained(segment))
+            log.debug("[操作日志] 已删除全部重放的日志文件分段: {}", segment.path);
+    }
+
+    /**
+     * 将有修改的分段刷入磁盘, 仅由重放线程调用
+     * <p>
+     * 刷盘不持有锁, 不阻塞写入; 分段只由重放线程删除, 因此刷盘期间不会被解除映射
+     */
+    void force() {
+        for (Segment segment : snapshotSegments())
+            segment.force();
+    }
+
+    /**
+     * 将映射内容刷入磁盘
+     */
+    synchronized void close() {
+        for (Segment segment : segments)
+            segment.force();
+        if (spare != null)
+            spare.force();
+    }
+
+    private static byte[] encode(SysLog sysLog) {
+        try {
+            return SysLogRecordCodec.encode(sysLog);
+        } catch (IOException e) {
+            log.warn("[操作日志] 编码失败, 丢弃日志: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized AppendResult append(byte[] payload) {
+        int recordLength = RECORD_HEADER_LENGTH + payload.length;
+        if (HEADER_LENGTH + recordLength > segmentSize) {
+            log.warn("[操作日志] 日志过大, 无法写入日志文件, 长度: {}", payload.length);
+            return AppendResult.REJECTED;
+        }
+
+        Segment active = segments.getLast();
+        if (active.writePosition + recordLength > segmentSize) {
+            if (segments.size() >= maxSegments) {
+                log.warn("[操作日志] 日志文件已满, 丢弃日志");
+                return AppendResult.REJECTED;
+            }
+            if (spare == null)
+                return AppendResult.NO_SEGMENT;
+
+            // 写满的分段不再修改记录区域, 由重放线程刷盘
+            active.sealed = true;
+            active = spare;
+            spare = null;
+            segments.addLast(active);
+        }
+
+        int position = active.writePosition;
+        active.buffer.putInt(position + 4, checksum(payload));
+        active.buffer.put(position + RECORD_HEADER_LENGTH, payload);
+        active.buffer.putInt(position, payload.length);
+        active.writePosition = position + recordLength;
+        active.dirty = true;
+        return AppendResult.APPENDED;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private synchronized Segment oldestSegment() {
+        return segments.peekFirst();
+    }
+
+    private synchronized List<Segment> snapshotSegments() {
+        return new ArrayList<>(segments);
+    }
+
+    private synchronized boolean removeIfDrained(Segment segment) {
+        if (!segment.sealed || segment.replayOffset < segment.writePosition)
+            return false;
+        segments.remove(segment);
+        delete(segment);
+        return true;
+    }
+
+    /**
+     * 解除分段的内存映射并删除文件, 调用后不能再访问分段的缓冲区
+     */
+    private void delete(Segment segment) {
+        unmap(segment.buffer);
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("[操作日志] 删除已重放的日志文件分段失败: {}", segment.path, e);
+        }
+    }
+
+    /**
+     * 立即解除内存映射, 避免已删除分段的映射在 GC 前一直占用地址空间与磁盘空间
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null)
+            return;
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            log.warn("[操作日志] 解除内存映射失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 加载上次运行遗留的分段, 全部视为已写满; 写入位置为第一条不完整或校验失败的记录
+     */
+    private void recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX))
+                         .filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+                         .sorted()
+                         .toList();
+        }
+
+        for (Path path : paths) {
+            String name = path.getFileName().toString();
+            long sequence = Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+            nextSequence = Math.max(nextSequence, sequence + 1);
+
+            Segment segment = openSegment(path, false);
+            if (segment.size < HEADER_LENGTH || segment.buffer.getInt(0) != MAGIC) {
+                log.warn("[操作日志] 无法识别的日志文件分段, 已忽略: {}", path);
+                unmap(segment.buffer);
+                continue;
+            }
+            segment.replayOffset = segment.buffer.getInt(REPLAY_OFFSET_POSITION);
+            segment.writePosition = scanEnd(segment);
+            segment.sealed = true;
+
+            // 上次运行已全部重放的分段直接删除
+            if (segment.replayOffset >= segment.writePosition) {
+                delete(segment);
+                continue;
+            }
+            segments.addLast(segment);
+            log.info("[操作日志] 发现待重放的日志文件分段: {}, 待重放字节数: {}",
+                    path, segment.writePosition - segment.replayOffset);
+        }
+    }
+
+    /**
+     * 从已重放位置开始校验记录, 返回有效记录的结束位置
+     */
+    private int scanEnd(Segment segment) {
+        int position = segment.replayOffset;
+        while (position + RECORD_HEADER_LENGTH <= segment.size) {
+            int length = segment.buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_LENGTH + length > segment.size)
+                break;
+
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + RECORD_HEADER_LENGTH, payload);
+            if (checksum(payload) != segment.buffer.getInt(position + 4)) {
+                log.warn("[操作日志] 日志文件记录校验失败, 丢弃后续记录: {}, 位置: {}", segment.path, position);
+                break;
+            }
+            position += RECORD_HEADER_LENGTH + length;
+        }
+        return position;
+    }
+
+    private Segment createSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", FILE_PREFIX, nextSequence(), FILE_SUFFIX));
+        Segment segment = openSegment(path, true);
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(4, VERSION);
+        segment.setReplayOffset(HEADER_LENGTH);
+        segment.writePosition = HEADER_LENGTH;
+        return segment;
+    }
+
+    private synchronized long nextSequence() {
+        return nextSequence++;
+    }
+
+    private Segment openSegment(Path path, boolean create) throws IOException {
+        StandardOpenOption[] options = create ?
+                new StandardOpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE} :
+                new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            int size = create ? segmentSize : (int) channel.size();
+            return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), size);
+        }
+    }
+
+    /**
+     * 追加结果
+     */
+    private enum AppendResult {
+
+        /** 已追加 */
+        APPENDED,
+        /** 日志过大或日志文件已满, 已丢弃 */
+        REJECTED,
+        /** 需要滚动, 但没有预先创建的分段 */
+        NO_SEGMENT
+
+    }
+
+    /**
+     * 日志文件分段
+     */
+    private static class Segment {
+
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final int size;
+
+        /** 写入位置, 由写入方在记录完整写入后更新 */
+        private volatile int writePosition;
+        /** 已重放位置 */
+        private volatile int replayOffset;
+        /** 是否已写满, 不再追加 */
+        private volatile boolean sealed;
+        /** 上次刷盘后是否有修改 */
+        private volatile boolean dirty;
+
+        private Segment(Path path, MappedByteBuffer buffer, int size) {
+            this.path = path;
+            this.buffer = buffer;
+            this.size = size;
+        }
+
+        private void setReplayOffset(int replayOffset) {
+            if (this.replayOffset == replayOffset)
+                return;
+            this.replayOffset = replayOffset;
+            buffer.putInt(REPLAY_OFFSET_POSITION, replayOffset);
+            dirty = true;
+        }
+
+        private void force() {
+            if (!dirty)
+                return;
+            dirty = false;
+            buffer.force();
+        }
+
+    }
+
+}
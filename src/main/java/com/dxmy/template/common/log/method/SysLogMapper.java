@@ -1,7 +1,16 @@
 package com.dxmy.template.common.log.method;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 系统操作日志 Mapper
@@ -9,4 +18,105 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface SysLogMapper extends BaseMapper<SysLog> {
 
+    /**
+     * 批量插入操作日志 (单条多行 INSERT 语句)
+     *
+     * @param logs 操作日志
+     * @return 插入行数
+     */
+    @Insert("""
+            <script>
+            INSERT INTO sys_log (title, type, class_name, method_name, method_args, method_return, request_method,
+                                 request_uri, cost_time, exception, operator_id, completion_time)
+            VALUES
+            <foreach collection="logs" item="log" separator=",">
+                (#{log.title}, #{log.type}, #{log.className}, #{log.methodName},
+                 #{log.methodArgs, typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler},
+                 #{log.methodReturn, typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler},
+                 #{log.requestMethod}, #{log.requestUri}, #{log.costTime}, #{log.exception}, #{log.operatorId},
+                 #{log.completionTime})
+            </foreach>
+            </script>
+            """)
+    int insertBatch(@Param("logs") List<SysLog> logs);
+
+    /**
+     * 查询操作日志表的分区名称, 按分区顺序排列, 未分区时返回空列表
+     *
+     * @return 分区名称
+     */
+    @Select("""
+            SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sys_log' AND PARTITION_NAME IS NOT NULL
+            ORDER BY PARTITION_ORDINAL_POSITION
+            """)
+    List<String> selectPartitionNames();
+
+    /**
+     * 从兜底分区中一次拆分出多个新分区 (DDL 无法使用预编译参数, 参数须由调用方生成)
+     *
+     * @param partitions      新分区名称 -> 新分区的上界 (不含), 按上界升序排列
+     * @param futurePartition 兜底分区名称
+     */
+    @Update("""
+            <script>
+            ALTER TABLE sys_log REORGANIZE PARTITION ${futurePartition} INTO (
+            <foreach collection="partitions" index="partition" item="bound">
+                PARTITION ${partition} VALUES LESS THAN ('${bound}'),
+            </foreach>
+                PARTITION ${futurePartition} VALUES LESS THAN (MAXVALUE)
+            )
+            </script>
+            """)
+    void addPartitions(@Param("partitions") Map<String, String> partitions,
+                       @Param("futurePartition") String futurePartition);
+
+    /**
+     * 查询分区内最早的操作完成时间, 分区为空时返回 null
+     *
+     * @param partition 分区名称
+     * @return 最早的操作完成时间
+     */
+    @Select("SELECT MIN(completion_time) FROM sys_log PARTITION (${partition})")
+    LocalDateTime selectMinCompletionTime(@Param("partition") String partition);
+
+    /**
+     * 查询分区内最晚的操作完成时间, 分区为空时返回 null
+     *
+     * @param partition 分区名称
+     * @return 最晚的操作完成时间
+     */
+    @Select("SELECT MAX(completion_time) FROM sys_log PARTITION (${partition})")
+    LocalDateTime selectMaxCompletionTime(@Param("partition") String partition);
+
+    /**
+     * 删除分区及其数据
+     *
+     * @param partition 分区名称
+     */
+    @Update("ALTER TABLE sys_log DROP PARTITION ${partition}")
+    void dropPartition(@Param("partition") String partition);
+
+    /**
+     * 统计分区内的日志条数
+     *
+     * @param partition 分区名称
+     * @return 日志条数
+     */
+    @Select("SELECT COUNT(*) FROM sys_log PARTITION (${partition})")
+    long countPartition(@Param("partition") String partition);
+
+    /**
+     * 按编号分页读取分区内的日志
+     *
+     * @param partition 分区名称
+     * @param afterId   上一页最后一条日志的编号
+     * @param limit     每页条数
+     * @return 操作日志
+     */
+    @Select("SELECT * FROM sys_log PARTITION (${partition}) WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    @ResultMap("mybatis-plus_SysLog")
+    List<SysLog> selectPartitionPage(@Param("partition") String partition, @Param("afterId") long afterId,
+                                     @Param("limit") int limit);
+
 }
@@ -0,0 +1,122 @@
+package com.dxmy.template.common.log.method;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.dxmy.template.common.oss.MinioManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.minio.Result;
+import io.minio.messages.Item;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 操作日志查询服务 - 早于数据库最早分区的月份从 MinIO 归档中读取, 其余从数据库读取
+ * <p>
+ * 先读取归档再读取数据库, 达到条数上限后停止; 数据库结果按操作完成时间升序排列, 归档内按日志编号顺序排列
+ */
+@Slf4j
+@Component
+public class SysLogQueryService {
+
+    /** 单次查询的最大条数 */
+    private static final int MAX_LIMIT = 1000;
+
+    @Resource
+    private SysLogMapper sysLogMapper;
+    @Resource
+    private SysLogArchiver sysLogArchiver;
+    @Resource
+    private MinioManager minioManager;
+    @Resource
+    private ObjectMapper objectMapper;
+
+    /**
+     * 查询操作日志
+     *
+     * @param from       起始时间 (含)
+     * @param to         结束时间 (不含)
+     * @param operatorId 操作者 ID, 为 null 时不过滤
+     * @param limit      最大条数, 不超过 {@value MAX_LIMIT}
+     * @return 操作日志
+     */
+    public List<SysLog> query(LocalDateTime from, LocalDateTime to, Long operatorId, int limit) throws Exception {
+        int maxCount = Math.min(Math.max(limit, 0), MAX_LIMIT);
+        List<SysLog> results = new ArrayList<>();
+        if (maxCount == 0 || !from.isBefore(to))
+            return results;
+
+        // 早于最早分区的月份已归档, 未分区时全部从数据库读取
+        YearMonth oldestLiveMonth = sysLogArchiver.getOldestLiveMonth();
+        LocalDateTime liveStart = oldestLiveMonth != null ? oldestLiveMonth.atDay(1).atStartOfDay() : LocalDateTime.MIN;
+
+        if (from.isBefore(liveStart))
+            readArchives(from, to.isBefore(liveStart) ? to : liveStart, operatorId, maxCount, results);
+
+        if (results.size() < maxCount && to.isAfter(liveStart)) {
+            LocalDateTime liveFrom = from.isBefore(liveStart) ? liveStart : from;
+            results.addAll(sysLogMapper.selectList(Wrappers
+                    .lambdaQuery(SysLog.class)
+                    .ge(SysLog::getCompletionTime, liveFrom)
+                    .lt(SysLog::getCompletionTime, to)
+                    .eq(operatorId != null, SysLog::getOperatorId, operatorId)
+                    .orderByAsc(SysLog::getCompletionTime)
+                    .last("LIMIT " + (maxCount - results.size()))
+            ));
+        }
+        return results;
+    }
+
+    /**
+     * 按月份顺序读取时间范围内的归档, 逐行解析并过滤
+     */
+    private void readArchives(LocalDateTime from, LocalDateTime to, Long operatorId, int maxCount,
+            List<SysLog> results) throws Exception {
+        YearMonth fromMonth = YearMonth.from(from);
+        YearMonth toMonth = YearMonth.from(to.minusNanos(1));
+
+        // 列出一次归档对象, 避免逐月查询不存在的对象
+        TreeSet<YearMonth> archivedMonths = new TreeSet<>();
+        for (Result<Item> result : minioManager.listFiles(sysLogArchiver.getPathPrefix())) {
+            YearMonth month = sysLogArchiver.parseArchiveMonth(result.get().objectName());
+            if (month != null && !month.isBefore(fromMonth) && !month.isAfter(toMonth))
+                archivedMonths.add(month);
+        }
+
+        for (YearMonth month : archivedMonths) {
+            String objectName = sysLogArchiver.getArchiveObjectName(month);
+            try (InputStream inputStream = minioManager.getFileStream(objectName);
+                 BufferedReader reader = new BufferedReader(
+                         new InputStreamReader(new GZIPInputStream(inputStream), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty())
+                        continue;
+                    SysLog sysLog = objectMapper.readValue(line, SysLog.class);
+                    LocalDateTime completionTime = sysLog.getCompletionTime();
+                    if (completionTime.isBefore(from) || !completionTime.isBefore(to))
+                        continue;
+                    if (operatorId != null && !Objects.equals(operatorId, sysLog.getOperatorId()))
+                        continue;
+
+                    results.add(sysLog);
+                    if (results.size() >= maxCount)
+                        return;
+                }
+            }
+            log.debug("[操作日志查询] 已读取归档: {}", objectName);
+        }
+    }
+
+}
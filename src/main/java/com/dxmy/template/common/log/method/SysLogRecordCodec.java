@@ -0,0 +1,141 @@
+package com.dxmy.template.common.log.method;
+
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 操作日志二进制编解码器, 用于本地日志文件
+ * <p>
+ * 字符串以 [长度 4 字节][UTF-8 字节] 存储 (长度为 -1 表示 null), 方法参数与返回值预先序列化为 JSON,
+ * 与数据库 JSON 列使用同一个 ObjectMapper
+ */
+@Slf4j
+final class SysLogRecordCodec {
+
+    private static final int NULL_LENGTH = -1;
+
+    private SysLogRecordCodec() {
+    }
+
+    /**
+     * 编码
+     */
+    static byte[] encode(SysLog sysLog) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        writeString(out, sysLog.getTitle());
+        writeInteger(out, sysLog.getType());
+        writeString(out, sysLog.getClassName());
+        writeString(out, sysLog.getMethodName());
+        writeString(out, toJson(sysLog.getMethodArgs()));
+        writeString(out, toJson(sysLog.getMethodReturn()));
+        writeString(out, sysLog.getRequestMethod());
+        writeString(out, sysLog.getRequestUri());
+        writeLong(out, sysLog.getCostTime());
+        writeString(out, sysLog.getException());
+        writeLong(out, sysLog.getOperatorId());
+
+        LocalDateTime completionTime = sysLog.getCompletionTime();
+        out.writeBoolean(completionTime != null);
+        if (completionTime != null) {
+            out.writeLong(completionTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(completionTime.getNano());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解码
+     */
+    static SysLog decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        SysLog sysLog = SysLog.builder()
+                              .title(readString(in))
+                              .type(readInteger(in))
+                              .className(readString(in))
+                              .methodName(readString(in))
+                              .build();
+
+        String methodArgs = readString(in);
+        String methodReturn = readString(in);
+        ObjectMapper mapper = JacksonTypeHandler.getObjectMapper();
+        sysLog.setMethodArgs(methodArgs != null ? mapper.readValue(methodArgs, Object[].class) : null)
+              .setMethodReturn(methodReturn != null ? mapper.readValue(methodReturn, Object.class) : null)
+              .setRequestMethod(readString(in))
+              .setRequestUri(readString(in))
+              .setCostTime(readLong(in))
+              .setException(readString(in))
+              .setOperatorId(readLong(in));
+
+        if (in.readBoolean())
+            sysLog.setCompletionTime(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC));
+        return sysLog;
+    }
+
+    /**
+     * 序列化为 JSON, 无法序列化时记录为 null, 避免单条日志阻塞整个批次
+     */
+    private static String toJson(Object value) {
+        if (value == null)
+            return null;
+        try {
+            return JacksonTypeHandler.getObjectMapper().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.warn("[操作日志] 序列化失败, 记录为 null: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH)
+            return null;
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeInt(value);
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeLong(value);
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+}
@@ -0,0 +1,359 @@
+package com.dxmy.template.common.log.method;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.Data;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 操作日志异步写入器 - 日志先进入有界缓冲区, 由后台线程按批次以多行 INSERT 写入数据库
+ * <p>
+ * 开启本地日志文件时, 数据库写入失败的批次与缓冲区溢出的日志暂存到本地日志文件,
+ * 数据库恢复前的后续批次也直接写入日志文件, 由重放线程在数据库恢复后写回.
+ * 因日志内容无法写入的单条日志 (如字段超长) 被跳过, 不视为数据库不可用
+ */
+@Slf4j
+@Component
+@ConfigurationProperties("app.sys-log")
+public class SysLogWriter {
+
+    /** 缓冲区容量 */
+    @Setter
+    private Integer bufferCapacity = 10000;
+    /** 每批写入的最大条数 */
+    @Setter
+    private Integer batchSize = 200;
+    /** 批次未满时的最长等待时间 */
+    @Setter
+    private Duration flushInterval = Duration.ofSeconds(1);
+    /** 缓冲区已满时的处理策略 */
+    @Setter
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+    /** BLOCK 策略下的最长阻塞时间 */
+    @Setter
+    private Duration blockTimeout = Duration.ofMillis(100);
+    /** 本地日志文件 */
+    @Setter
+    private JournalProperties journal = new JournalProperties();
+
+    @Resource
+    private SysLogMapper sysLogMapper;
+
+    private BlockingQueue<SysLog> buffer;
+    private Thread writerThread;
+    private Thread replayerThread;
+    private volatile boolean running;
+
+    /** 本地日志文件, 未开启或创建失败时为 null */
+    private SysLogJournal sysLogJournal;
+    /** 数据库是否可用, 不可用期间的日志直接写入本地日志文件 */
+    private volatile boolean databaseAvailable = true;
+
+    /** 因缓冲区已满或无法写入而丢弃的日志数 */
+    private final LongAdder droppedCount = new LongAdder();
+    /** 因缓冲区已满而溢出写入的日志数 */
+    private final LongAdder spilledCount = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        running = true;
+
+        if (journal.getEnabled()) {
+            try {
+                int segmentSize = (int) journal.getSegmentSize().toBytes();
+                int maxSegments = (int) Math.max(2, journal.getMaxSize().toBytes() / segmentSize);
+                sysLogJournal = new SysLogJournal(Path.of(journal.getDirectory()), segmentSize, maxSegments);
+                replayerThread = new Thread(this::runReplayer, "sys-log-replayer");
+                replayerThread.setDaemon(true);
+                replayerThread.start();
+            } catch (IOException e) {
+                log.error("[操作日志] 创建本地日志文件失败, 数据库不可用时日志将被丢弃", e);
+            }
+        }
+
+        writerThread = new Thread(this::runWriter, "sys-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 停止写入器, 并将缓冲区中剩余的日志全部写入数据库或本地日志文件
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(flushInterval.toMillis() * 2);
+
+        List<SysLog> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+
+        if (sysLogJournal != null) {
+            replayerThread.interrupt();
+            replayerThread.join(journal.getReplayInterval().toMillis());
+            sysLogJournal.close();
+        }
+    }
+
+    /**
+     * 提交操作日志
+     *
+     * @param sysLog 操作日志
+     */
+    public void write(SysLog sysLog) {
+        if (buffer.offer(sysLog))
+            return;
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    if (!buffer.offer(sysLog, blockTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                        droppedCount.increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount.increment();
+                }
+            }
+            case SPILL -> {
+                // 调用方线程只追加到已映射的分段, 不访问数据库也不创建文件
+                if (sysLogJournal != null && sysLogJournal.tryAppend(sysLog))
+                    spilledCount.increment();
+                else
+                    droppedCount.increment();
+            }
+            default -> droppedCount.increment();
+        }
+    }
+
+    /**
+     * 获取因缓冲区已满或无法写入而丢弃的日志数
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 获取因缓冲区已满而溢出写入的日志数
+     */
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    /**
+     * 获取缓冲区中等待写入的日志数
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * 后台写入循环, 批次已满或等待超时后写入
+     */
+    private void runWriter() {
+        List<SysLog> batch = new ArrayList<>(batchSize);
+        long reportedDropped = 0;
+        while (running) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+            // 为调用方线程的溢出写入预先创建分段
+            if (sysLogJournal != null)
+                sysLogJournal.prepareSegment();
+
+            long dropped = droppedCount.sum();
+            if (dropped > reportedDropped) {
+                log.warn("[操作日志] 已累计丢弃 {} 条日志", dropped);
+                reportedDropped = dropped;
+            }
+        }
+
+        // 退出前写入已取出的日志, 缓冲区剩余部分由 stop 负责
+        if (!batch.isEmpty())
+            flush(batch);
+    }
+
+    /**
+     * 从缓冲区取出日志直至批次已满或等待超时
+     */
+    private void fillBatch(List<SysLog> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+                return;
+
+            SysLog sysLog = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (sysLog == null)
+                return;
+            batch.add(sysLog);
+            buffer.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    /**
+     * 批量写入数据库; 数据库不可用时未写入的日志转入本地日志文件, 未开启本地日志文件时丢弃
+     */
+    private void flush(List<SysLog> batch) {
+        if (!databaseAvailable && sysLogJournal != null) {
+            appendToJournal(batch);
+            return;
+        }
+
+        InsertResult result = insertBatch(batch);
+        if (result.processed() == batch.size())
+            return;
+
+        List<SysLog> remaining = new ArrayList<>(batch.subList(result.processed(), batch.size()));
+        if (sysLogJournal == null) {
+            log.error("[操作日志] 批量写入失败, 丢弃 {} 条日志", remaining.size(), result.failure());
+            droppedCount.add(remaining.size());
+            return;
+        }
+        log.error("[操作日志] 批量写入失败, 转入本地日志文件直至数据库恢复, 条数: {}", remaining.size(), result.failure());
+        databaseAvailable = false;
+        appendToJournal(remaining);
+    }
+
+    private void appendToJournal(List<SysLog> logs) {
+        int appended = sysLogJournal.append(logs);
+        if (appended < logs.size())
+            droppedCount.add(logs.size() - appended);
+    }
+
+    /**
+     * 后台重放循环, 将本地日志文件中的日志写回数据库
+     */
+    private void runReplayer() {
+        while (running) {
+            try {
+                Thread.sleep(journal.getReplayInterval().toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            // 重放完成后才写满的分段不会在重放中删除, 每轮检查一次
+            sysLogJournal.removeDrained();
+
+            if (sysLogJournal.hasPending()) {
+                int replayed = sysLogJournal.replay(batchSize, this::replayBatch);
+                if (replayed > 0)
+                    log.info("[操作日志] 已从本地日志文件重放 {} 条日志", replayed);
+                if (!sysLogJournal.hasPending() && !databaseAvailable) {
+                    databaseAvailable = true;
+                    log.info("[操作日志] 数据库已恢复, 恢复直接写入");
+                }
+            }
+
+            sysLogJournal.prepareSegment();
+            sysLogJournal.force();
+        }
+    }
+
+    /**
+     * 重放一批日志, 返回从批次开头起已处理的条数, 未全部处理时停止重放并在下一轮从第一条未写入的日志继续
+     */
+    private int replayBatch(List<SysLog> batch) {
+        InsertResult result = insertBatch(batch);
+        if (result.failure() != null)
+            log.debug("[操作日志] 重放写入失败, 稍后重试: {}", result.failure().getMessage());
+        return result.processed();
+    }
+
+    /**
+     * 批量写入数据库
+     * <p>
+     * 批量写入因无法重试的错误失败时逐条写入, 跳过无法写入的单条日志; 连接中断, 超时等其他错误视为数据库不可用, 停止写入
+     *
+     * @return 从批次开头起已处理 (写入或跳过) 的条数, 及停止写入的原因
+     */
+    private InsertResult insertBatch(List<SysLog> batch) {
+        try {
+            sysLogMapper.insertBatch(batch);
+            return new InsertResult(batch.size(), null);
+        } catch (Exception e) {
+            if (!isPermanentError(e))
+                return new InsertResult(0, e);
+        }
+
+        int skipped = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                sysLogMapper.insertBatch(List.of(batch.get(i)));
+            } catch (Exception e) {
+                if (!isPermanentError(e))
+                    return new InsertResult(i, e);
+                skipped++;
+                log.debug("[操作日志] 跳过无法写入的日志: {}", e.getMessage());
+            }
+        }
+        if (skipped > 0) {
+            log.warn("[操作日志] 跳过 {} 条无法写入的日志", skipped);
+            droppedCount.add(skipped);
+        }
+        return new InsertResult(batch.size(), null);
+    }
+
+    /**
+     * 判断是否为重试也无法成功的错误 (如字段超长, 违反约束, SQL 错误); 数据库连接失败除外
+     */
+    private static boolean isPermanentError(Exception e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    /**
+     * 批量写入结果
+     *
+     * @param processed 从批次开头起已处理的条数
+     * @param failure   停止写入的原因, 全部处理时为 null
+     */
+    private record InsertResult(int processed, Exception failure) {
+    }
+
+    /**
+     * 本地日志文件属性
+     */
+    @Data
+    public static class JournalProperties {
+
+        /** 是否开启 */
+        private Boolean enabled = true;
+        /** 日志文件目录 */
+        private String directory = "./data/sys-log";
+        /** 分段文件大小 */
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+        /** 日志文件总大小上限, 超过后丢弃新日志 */
+        private DataSize maxSize = DataSize.ofGigabytes(1);
+        /** 重放检查间隔 */
+        private Duration replayInterval = Duration.ofSeconds(5);
+
+    }
+
+}
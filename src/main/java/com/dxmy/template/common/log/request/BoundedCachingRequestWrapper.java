@@ -0,0 +1,129 @@
+package com.dxmy.template.common.log.request;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 有界请求体缓存包装 - 开始缓存后, 请求体被读取时将前若干字节复制到给定的缓冲区, 超出部分直接透传
+ * <p>
+ * 包装时不缓存, 由拦截器在确定处理方法且请求被采样后调用 {@link #startCaching(byte[])} 开始缓存
+ */
+public class BoundedCachingRequestWrapper extends HttpServletRequestWrapper {
+
+    /** 缓存缓冲区, 其长度即为缓存上限; 未开始缓存时为 null */
+    private byte[] buffer;
+    /** 已缓存的字节数 */
+    private int length;
+
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public BoundedCachingRequestWrapper(HttpServletRequest request) {
+        super(request);
+    }
+
+    /**
+     * 开始缓存请求体, 请求体已开始读取或已在缓存时不缓存
+     *
+     * @param buffer 缓存缓冲区, 其长度即为缓存上限
+     * @return 是否开始缓存, 返回 false 时缓冲区未被使用
+     */
+    public boolean startCaching(byte[] buffer) {
+        if (inputStream != null || this.buffer != null)
+            return false;
+        this.buffer = buffer;
+        return true;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null)
+            inputStream = new CachingInputStream(super.getInputStream());
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null)
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getCharset()));
+        return reader;
+    }
+
+    /**
+     * 获取缓存缓冲区, 有效内容为前 {@link #getCachedLength()} 个字节; 未开始缓存时为 null
+     */
+    public byte[] getCachedContent() {
+        return buffer;
+    }
+
+    /**
+     * 获取已缓存的字节数
+     */
+    public int getCachedLength() {
+        return length;
+    }
+
+    /**
+     * 获取请求体字符集, 未指定时使用 UTF-8
+     */
+    public Charset getCharset() {
+        String encoding = getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * 读取时复制数据到缓存缓冲区的输入流
+     */
+    private class CachingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private CachingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1 && buffer != null && length < buffer.length)
+                buffer[length++] = (byte) b;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0 && buffer != null && length < buffer.length) {
+                int copied = Math.min(count, buffer.length - length);
+                System.arraycopy(b, off, buffer, length, copied);
+                length += copied;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+    }
+
+}
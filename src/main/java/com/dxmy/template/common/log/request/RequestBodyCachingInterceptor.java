@@ -0,0 +1,43 @@
+package com.dxmy.template.common.log.request;
+
+import com.dxmy.template.common.oss.StreamingUpload;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * 请求体缓存拦截器 - 在读取请求体之前, 使用已确定的处理方法判断是否缓存 {@link RequestWrappingFilter} 包装的请求
+ * <p>
+ * 仅请求日志切面处理且被采样的接口需要缓存, 流式上传接口自行读取请求体
+ */
+@Component
+public class RequestBodyCachingInterceptor implements HandlerInterceptor {
+
+    @Resource
+    private RequestWrappingFilter requestWrappingFilter;
+    @Resource
+    private RequestLogSampler requestLogSampler;
+
+    @Override
+    public boolean preHandle(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull Object handler) {
+        BoundedCachingRequestWrapper requestWrapper = WebUtils.getNativeRequest(request, BoundedCachingRequestWrapper.class);
+        if (requestWrapper == null || !(handler instanceof HandlerMethod handlerMethod))
+            return true;
+
+        if (handlerMethod.hasMethodAnnotation(StreamingUpload.class)
+                || !AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), RestController.class))
+            return true;
+
+        if (requestLogSampler.sample(handlerMethod.getMethod(), request))
+            requestWrappingFilter.startCaching(requestWrapper);
+        return true;
+    }
+
+}
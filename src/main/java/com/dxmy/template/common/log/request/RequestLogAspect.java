@@ -1,6 +1,9 @@
 package com.dxmy.template.common.log.request;
 
+import com.dxmy.template.common.log.BoundedText;
+import com.dxmy.template.common.oss.StreamingUpload;
 import com.dxmy.template.common.response.R;
+import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -8,21 +11,16 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.dromara.hutool.core.array.ArrayUtil;
-import org.dromara.hutool.core.text.StrUtil;
-import org.dromara.hutool.core.util.RandomUtil;
-import org.slf4j.MDC;
 import org.springframework.boot.ansi.AnsiBackground;
 import org.springframework.boot.ansi.AnsiColor;
 import org.springframework.boot.ansi.AnsiOutput;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 全局请求日志切面
@@ -32,107 +30,148 @@ import java.util.stream.IntStream;
 @Component
 public class RequestLogAspect {
 
-    /** TraceID 键名 */
-    private static final String TRACE_ID_KEY = "traceId";
+    /** 单项日志内容的最大长度, 超出部分截断 */
+    private static final int MAX_LOG_LENGTH = 1000;
+
+    @Resource
+    private RequestLogSampler requestLogSampler;
 
     /**
      * 记录请求日志
      */
     @Around("@within(org.springframework.web.bind.annotation.RestController)")
     public Object logRequestInfo(ProceedingJoinPoint joinPoint) throws Throwable {
-        // 生成 TraceID 放入日志, 以便进行链路追踪
-        MDC.put(TRACE_ID_KEY, RandomUtil.randomNumbers(5));
-
-        // 未开启 Debug 日志等级时, 不进行日志输出
-        if (!log.isDebugEnabled()) {
-            Object result = joinPoint.proceed();
-            MDC.clear();
-            return result;
-        }
+        // 未开启 Debug 日志等级时, 不进行日志输出 (链路 ID 由 TraceFilter 设置)
+        if (!log.isDebugEnabled())
+            return joinPoint.proceed();
 
         // 获取请求对象
         ServletRequestAttributes requestAttr = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
         HttpServletRequest request = requestAttr.getRequest();
 
-        // 获取请求信息
-        String requestMethod = request.getMethod();
-        String requestURI = request.getRequestURI();
-        String requestParams = getRequestParams(request);
-        String requestBody = getRequestBody(request);
-        String requestIP = request.getRemoteAddr();
-
-        // 输出请求日志
-        String requestLogPrefix = AnsiOutput.toString(AnsiColor.BRIGHT_WHITE, AnsiBackground.CYAN,
-                "[请求] " + requestMethod + " " + requestURI);
-        log.debug("{} <== {} {} - IP: {}", requestLogPrefix, requestParams, requestBody, requestIP);
-
-        // 获取调用信息
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String methodParams = getMethodParams(joinPoint);
-
-        // 输出调用日志
-        log.debug("[调用] {}.{}{}", className, methodName, methodParams);
+        // 在格式化任何内容之前决定是否采样, 缓存请求体时过滤器已做出决定
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        boolean sampled = requestLogSampler.sample(method, request);
+        if (sampled)
+            logRequest(joinPoint, request);
 
         // 处理请求并记录耗时
-        long startTime = System.currentTimeMillis();
-        Object result = joinPoint.proceed();
-        long costTime = System.currentTimeMillis() - startTime;
+        long startNanos = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            long costTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (sampled || requestLogSampler.sampleOnCompletion(method, costTime, true)) {
+                if (!sampled)
+                    logRequest(joinPoint, request);
+                log.debug("{} ==> {} ms - {}: {}", ansiPrefix(AnsiBackground.RED, "[异常] ", request),
+                        costTime, throwable.getClass().getSimpleName(), throwable.getMessage());
+            }
+            throw throwable;
+        }
+        long costTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
 
-        // 获取响应结果, 过长则截断
-        Object res = result instanceof R ? ((R<?>) result).getData() : result;
-        if (res.toString().length() > 1000)
-            res = res.toString().substring(0, 1000) + "...";
+        // 未被采样的慢请求在结束时补记请求日志
+        if (!sampled) {
+            if (!requestLogSampler.sampleOnCompletion(method, costTime, false))
+                return result;
+            logRequest(joinPoint, request);
+        }
 
-        // 输出响应日志
-        String responseLogPrefix = AnsiOutput.toString(AnsiColor.BRIGHT_WHITE, AnsiBackground.MAGENTA,
-                "[响应] " + requestMethod + " " + requestURI);
-        log.debug("{} ==> {} ms - {}", responseLogPrefix, costTime, res);
+        // 输出响应日志, 响应结果过长则截断
+        Object res = result instanceof R ? ((R<?>) result).getData() : result;
+        log.debug("{} ==> {} ms - {}", ansiPrefix(AnsiBackground.MAGENTA, "[响应] ", request),
+                costTime, BoundedText.of(res, MAX_LOG_LENGTH));
 
-        MDC.clear();
         return result;
     }
 
+    /**
+     * 输出请求日志与调用日志, 各部分仅在日志事件被输出时才渲染
+     */
+    private void logRequest(ProceedingJoinPoint joinPoint, HttpServletRequest request) {
+        // 流式上传接口自行读取请求体, 解析请求参数会提前消费请求体
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object requestParams = method.isAnnotationPresent(StreamingUpload.class) ?
+                "<StreamingUpload>" : getRequestParams(request);
+        log.debug("{} <== {} {} - IP: {}", ansiPrefix(AnsiBackground.CYAN, "[请求] ", request),
+                requestParams, getRequestBody(request), request.getRemoteAddr());
+        log.debug("[调用] {}.{}{}", joinPoint.getTarget().getClass().getSimpleName(),
+                joinPoint.getSignature().getName(), getMethodParams(joinPoint));
+    }
+
+    /**
+     * 带背景色的日志前缀
+     */
+    private Object ansiPrefix(AnsiBackground background, String tag, HttpServletRequest request) {
+        String requestMethod = request.getMethod();
+        String requestURI = request.getRequestURI();
+        return new BoundedText(MAX_LOG_LENGTH) {
+            @Override
+            protected void render(Output out) {
+                out.append(AnsiOutput.toString(AnsiColor.BRIGHT_WHITE, background, tag, requestMethod, " ", requestURI));
+            }
+        };
+    }
+
     /**
      * 获取请求参数
      */
-    private String getRequestParams(HttpServletRequest request) {
+    private Object getRequestParams(HttpServletRequest request) {
         Map<String, String[]> parameterMap = request.getParameterMap();
         if (parameterMap.isEmpty())
             return "<NoParams>";
 
-        return parameterMap.entrySet().stream().map(entry -> {
-            String key = entry.getKey();
-            String[] value = entry.getValue();
-            return key + "=" + (value.length == 1 ? value[0] : Arrays.toString(value));
-        }).collect(Collectors.joining(", ", "(", ")"));
+        return new BoundedText(MAX_LOG_LENGTH) {
+            @Override
+            protected void render(Output out) {
+                out.append('(');
+                boolean first = true;
+                for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+                    if (!first)
+                        out.append(", ");
+                    first = false;
+                    String[] value = entry.getValue();
+                    out.append(entry.getKey()).append('=').appendValue(value.length == 1 ? value[0] : value);
+                }
+                out.append(')');
+            }
+        };
     }
 
     /**
      * 获取请求体
      */
-    private String getRequestBody(HttpServletRequest request) {
-        String requestBody = null;
-        if (request instanceof ContentCachingRequestWrapper requestWrapper)
-            requestBody = requestWrapper.getContentAsString();
-        return StrUtil.isNotBlank(requestBody) ? requestBody : "<NoBody>";
+    private Object getRequestBody(HttpServletRequest request) {
+        if (request instanceof BoundedCachingRequestWrapper requestWrapper && requestWrapper.getCachedLength() > 0)
+            return BoundedText.of(requestWrapper.getCachedContent(), requestWrapper.getCachedLength(),
+                    requestWrapper.getCharset(), MAX_LOG_LENGTH);
+        return "<NoBody>";
     }
 
     /**
      * 获取方法参数
      */
-    private String getMethodParams(ProceedingJoinPoint joinPoint) {
+    private Object getMethodParams(ProceedingJoinPoint joinPoint) {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         String[] paramNames = signature.getParameterNames();
         Object[] paramValues = joinPoint.getArgs();
         if (ArrayUtil.isEmpty(paramValues))
             return "<NoParams>";
 
-        return IntStream.range(0, paramNames.length).mapToObj(i -> {
-            String paramName = paramNames[i];
-            Object paramValue = paramValues[i];
-            return paramName + "=" + (paramValue != null ? paramValue.toString() : "null");
-        }).collect(Collectors.joining(", ", "(", ")"));
+        return new BoundedText(MAX_LOG_LENGTH) {
+            @Override
+            protected void render(Output out) {
+                out.append('(');
+                for (int i = 0; i < paramNames.length; i++) {
+                    if (i > 0)
+                        out.append(", ");
+                    out.append(paramNames[i]).append('=').appendValue(paramValues[i]);
+                }
+                out.append(')');
+            }
+        };
     }
 
 }
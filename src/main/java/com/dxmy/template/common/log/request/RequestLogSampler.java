@@ -0,0 +1,132 @@
+package com.dxmy.template.common.log.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求日志采样器 - 按接口采样请求日志, 并以令牌桶限制每个接口的日志量
+ * <p>
+ * 未被采样的请求若处理过慢或抛出异常, 仍会在结束时补记日志 (同样受日志量限制)
+ */
+@Component
+@ConfigurationProperties("app.request-log")
+public class RequestLogSampler {
+
+    /** 请求属性名 - 本次请求的采样结果, 保证过滤器与切面对同一请求只采样一次 */
+    private static final String SAMPLED_ATTRIBUTE = RequestLogSampler.class.getName() + ".SAMPLED";
+
+    /** 默认采样率 (0 ~ 1) */
+    @Setter
+    private Double sampleRate = 1.0;
+    /** 各接口的采样率, 键为 "类名#方法名" (类名不含包名) */
+    @Setter
+    private Map<String, Double> endpointSampleRates = Collections.emptyMap();
+    /** 处理耗时超过该值的请求总是记录 */
+    @Setter
+    private Duration slowThreshold = Duration.ofSeconds(1);
+    /** 每个接口每秒最多记录的请求数, 小于等于 0 表示不限制 */
+    @Setter
+    private Integer maxPerSecond = 50;
+
+    /** 各接口的采样状态 */
+    private final Map<Method, EndpointSampler> samplers = new ConcurrentHashMap<>();
+
+    /**
+     * 请求开始时判断是否采样
+     *
+     * @param method 接口方法
+     * @return 是否记录本次请求
+     */
+    public boolean sample(Method method) {
+        EndpointSampler sampler = getSampler(method);
+        if (sampler.sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampler.sampleRate)
+            return false;
+        return sampler.tryAcquire();
+    }
+
+    /**
+     * 请求开始时判断是否采样, 同一请求只判断一次, 后续调用返回首次的结果
+     *
+     * @param method  接口方法
+     * @param request 请求
+     * @return 是否记录本次请求
+     */
+    public boolean sample(Method method, HttpServletRequest request) {
+        if (request.getAttribute(SAMPLED_ATTRIBUTE) instanceof Boolean sampled)
+            return sampled;
+
+        boolean sampled = sample(method);
+        request.setAttribute(SAMPLED_ATTRIBUTE, sampled);
+        return sampled;
+    }
+
+    /**
+     * 未被采样的请求结束时判断是否补记
+     *
+     * @param method    接口方法
+     * @param costTime  处理耗时 (单位: 毫秒)
+     * @param exception 是否抛出异常
+     * @return 是否记录本次请求
+     */
+    public boolean sampleOnCompletion(Method method, long costTime, boolean exception) {
+        if (!exception && costTime < slowThreshold.toMillis())
+            return false;
+        return getSampler(method).tryAcquire();
+    }
+
+    private EndpointSampler getSampler(Method method) {
+        EndpointSampler sampler = samplers.get(method);
+        if (sampler != null)
+            return sampler;
+
+        return samplers.computeIfAbsent(method, m -> {
+            String endpoint = m.getDeclaringClass().getSimpleName() + "#" + m.getName();
+            return new EndpointSampler(endpointSampleRates.getOrDefault(endpoint, sampleRate), maxPerSecond);
+        });
+    }
+
+    /**
+     * 单个接口的采样状态
+     */
+    private static class EndpointSampler {
+
+        private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+        private final double sampleRate;
+        /** 令牌桶容量, 即每秒生成的令牌数 */
+        private final long capacity;
+
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+
+        private EndpointSampler(double sampleRate, long capacity) {
+            this.sampleRate = sampleRate;
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        private synchronized boolean tryAcquire() {
+            if (capacity <= 0)
+                return true;
+
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefillNanos) * capacity / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+            if (tokens < 1)
+                return false;
+            tokens--;
+            return true;
+        }
+
+    }
+
+}
@@ -5,24 +5,94 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * 请求缓存包装
+ * <p>
+ * 开启 Debug 日志且请求体为文本类型时包装请求, 文件上传与二进制流直接透传. 包装时不缓存,
+ * 由 {@link RequestBodyCachingInterceptor} 使用 DispatcherServlet 已确定的处理方法判断请求日志对本次请求生效
+ * (接口由请求日志切面处理, 且被采样) 后, 才借出缓冲区缓存请求体的前若干字节以便日志输出.
+ * 采样结果与请求日志切面共享, 未被采样而在结束时补记的慢请求与异常请求不含请求体
  */
 @Component
 public class RequestWrappingFilter extends OncePerRequestFilter {
 
+    /** 请求体缓存上限 (单位: 字节), 足以覆盖请求日志的截断长度 */
+    private static final int MAX_CACHED_BYTES = 4096;
+    /** 缓冲区池容量 */
+    private static final int BUFFER_POOL_SIZE = 256;
+
+    /** 可复用的缓存缓冲区 */
+    private final BlockingQueue<byte[]> bufferPool = new ArrayBlockingQueue<>(BUFFER_POOL_SIZE);
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
-        // 缓存请求体的数据以便多次读取
-        HttpServletRequest wrappedRequest = new ContentCachingRequestWrapper(request);
-        filterChain.doFilter(wrappedRequest, response);
+        if (!shouldWrap(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        BoundedCachingRequestWrapper requestWrapper = new BoundedCachingRequestWrapper(request);
+        try {
+            filterChain.doFilter(requestWrapper, response);
+        } finally {
+            // 异步请求结束前缓冲区可能仍被引用, 不归还
+            byte[] buffer = requestWrapper.getCachedContent();
+            if (buffer != null && !request.isAsyncStarted())
+                bufferPool.offer(buffer);
+        }
+    }
+
+    /**
+     * 借出缓冲区并开始缓存请求体, 缓冲区在请求结束后归还
+     *
+     * @param requestWrapper 本过滤器包装的请求
+     */
+    public void startCaching(BoundedCachingRequestWrapper requestWrapper) {
+        byte[] buffer = bufferPool.poll();
+        if (buffer == null)
+            buffer = new byte[MAX_CACHED_BYTES];
+        if (!requestWrapper.startCaching(buffer))
+            bufferPool.offer(buffer);
+    }
+
+    /**
+     * 判断是否需要包装请求
+     */
+    private boolean shouldWrap(HttpServletRequest request) {
+        if (!LoggerFactory.getLogger(RequestLogAspect.class).isDebugEnabled())
+            return false;
+
+        String contentType = request.getContentType();
+        if (contentType == null || request.getContentLengthLong() == 0)
+            return false;
+
+        try {
+            return isTextual(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private boolean isTextual(MediaType mediaType) {
+        if ("text".equals(mediaType.getType()))
+            return true;
+        if (!"application".equals(mediaType.getType()))
+            return false;
+
+        String subtype = mediaType.getSubtype();
+        return "json".equals(subtype) || "xml".equals(subtype) || "x-www-form-urlencoded".equals(subtype)
+                || subtype.endsWith("+json") || subtype.endsWith("+xml");
     }
 
 }
@@ -0,0 +1,89 @@
+package com.dxmy.template.common.oss;
+
+import lombok.Getter;
+
+/**
+ * HTTP 单区间字节范围 (Range: bytes=start-end)
+ */
+@Getter
+public class ByteRange {
+
+    /** 无法满足的范围, 应响应 416 */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    /** 起始位置 (含) */
+    private final long start;
+    /** 结束位置 (含) */
+    private final long end;
+
+    private ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * 解析 Range 请求头
+     * <p>
+     * 格式不合法或包含多个区间时返回 null, 由调用方返回完整内容 (RFC 9110 允许忽略 Range)
+     *
+     * @param header Range 请求头
+     * @param size   内容总长度
+     * @return 字节范围, 无法满足时返回 {@link #UNSATISFIABLE}
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith(BYTES_UNIT))
+            return null;
+
+        String spec = header.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0)
+            return null;
+
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+
+        // 后缀范围: bytes=-N 表示最后 N 个字节
+        if (first.isEmpty()) {
+            long suffixLength = parsePosition(last);
+            if (suffixLength < 0)
+                return null;
+            if (suffixLength == 0 || size == 0)
+                return UNSATISFIABLE;
+            return new ByteRange(Math.max(0, size - suffixLength), size - 1);
+        }
+
+        long start = parsePosition(first);
+        long end = last.isEmpty() ? Long.MAX_VALUE : parsePosition(last);
+        if (start < 0 || end < start)
+            return null;
+        if (start >= size)
+            return UNSATISFIABLE;
+        return new ByteRange(start, Math.min(end, size - 1));
+    }
+
+    /**
+     * 解析非负整数位置, 仅允许数字, 不合法或溢出时返回 -1
+     */
+    private static long parsePosition(String text) {
+        if (text.isEmpty())
+            return -1;
+        for (int i = 0; i < text.length(); i++)
+            if (text.charAt(i) < '0' || text.charAt(i) > '9')
+                return -1;
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 获取范围长度
+     */
+    public long getLength() {
+        return end - start + 1;
+    }
+
+}
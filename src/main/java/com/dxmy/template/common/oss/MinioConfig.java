@@ -1,10 +1,18 @@
 package com.dxmy.template.common.oss;
 
+import com.dxmy.template.common.trace.TraceHttpInterceptor;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
+import io.minio.http.HttpUtils;
 import lombok.Data;
+import okhttp3.OkHttpClient;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MinIO 配置
@@ -14,6 +22,9 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "minio")
 public class MinioConfig {
 
+    /** HTTP 超时时间 (单位: 分钟), 与 MinIO 客户端默认值一致 */
+    private static final long HTTP_TIMEOUT_MINUTES = 5;
+
     /** MinIO 主机 */
     private String host;
     /** MinIO 端口 */
@@ -26,6 +37,14 @@ public class MinioConfig {
     private String secretKey;
     /** 使用的存储桶名称 */
     private String bucketName;
+    /** 分片上传配置 */
+    private Multipart multipart = new Multipart();
+    /** 流式上传配置 */
+    private Streaming streaming = new Streaming();
+    /** 预签名 URL 配置 */
+    private Presign presign = new Presign();
+    /** 批量操作配置 */
+    private Bulk bulk = new Bulk();
 
     /**
      * MinIO 客户端
@@ -36,7 +55,110 @@ public class MinioConfig {
                 .builder()
                 .endpoint(host, port, secure)
                 .credentials(accessKey, secretKey)
+                .httpClient(createHttpClient())
                 .build();
     }
 
+    /**
+     * MinIO 分片上传客户端, 使用独立的 HTTP 客户端, 避免大文件上传占满普通请求的连接
+     */
+    @Bean
+    public MinioMultipartClient minioMultipartClient() {
+        // 调度器默认每个主机最多 5 个并发请求, 放宽到上传线程数
+        OkHttpClient httpClient = createHttpClient();
+        httpClient.dispatcher().setMaxRequestsPerHost(multipart.getThreads());
+        return new MinioMultipartClient(MinioAsyncClient
+                .builder()
+                .endpoint(host, port, secure)
+                .credentials(accessKey, secretKey)
+                .httpClient(httpClient)
+                .build()
+        );
+    }
+
+    /**
+     * 创建 HTTP 客户端, 请求携带链路 ID
+     * <p>
+     * MinIO 客户端以异步方式发起请求, 链路 ID 在创建调用时记录, 不依赖调度器线程的上下文
+     */
+    private OkHttpClient createHttpClient() {
+        TraceHttpInterceptor traceInterceptor = new TraceHttpInterceptor("MinIO");
+        return HttpUtils.newDefaultHttpClient(
+                TimeUnit.MINUTES.toMillis(HTTP_TIMEOUT_MINUTES),
+                TimeUnit.MINUTES.toMillis(HTTP_TIMEOUT_MINUTES),
+                TimeUnit.MINUTES.toMillis(HTTP_TIMEOUT_MINUTES)
+        ).newBuilder()
+         .eventListenerFactory(traceInterceptor.eventListenerFactory())
+         .addInterceptor(traceInterceptor)
+         .build();
+    }
+
+    /**
+     * 分片上传配置
+     */
+    @Data
+    public static class Multipart {
+
+        /** 启用分片上传的最小文件大小 */
+        private DataSize threshold = DataSize.ofMegabytes(64);
+        /** 分片大小, 不小于 5MB */
+        private DataSize partSize = DataSize.ofMegabytes(16);
+        /** 单个文件同时上传的分片数, 决定单次上传占用的内存 (分片大小 * 并发数) */
+        private Integer concurrency = 4;
+        /** 上传线程数, 所有上传共用 */
+        private Integer threads = 8;
+        /** 单个分片的最大重试次数 */
+        private Integer maxRetries = 3;
+
+    }
+
+    /**
+     * 流式上传配置
+     */
+    @Data
+    public static class Streaming {
+
+        /** 整个请求的最大大小 */
+        private DataSize maxRequestSize = DataSize.ofGigabytes(10);
+        /** 单个文件的最大大小 */
+        private DataSize maxFileSize = DataSize.ofGigabytes(10);
+        /** 单个请求的最大文件数 */
+        private Integer maxFiles = 10;
+        /** 单个表单字段的最大大小 */
+        private DataSize maxFieldSize = DataSize.ofKilobytes(64);
+        /** 上传分片大小, 即每个上传占用的缓冲区大小, 不小于 5MB */
+        private DataSize partSize = DataSize.ofMegabytes(8);
+        /** 摘要算法 (MD5 / SHA-256) */
+        private String digestAlgorithm = "SHA-256";
+
+    }
+
+    /**
+     * 预签名 URL 配置
+     */
+    @Data
+    public static class Presign {
+
+        /** URL 有效期, 不超过 7 天 */
+        private Duration expiry = Duration.ofDays(7);
+        /** 返回缓存的 URL 所需的最短剩余有效期 */
+        private Duration minRemaining = Duration.ofDays(1);
+        /** 缓存的最大 URL 数 */
+        private Long maximumSize = 100_000L;
+        /** 批量签名时并行签名的线程数 */
+        private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    }
+
+    /**
+     * 批量操作配置
+     */
+    @Data
+    public static class Bulk {
+
+        /** 并行逐个判断文件是否存在时的线程数 */
+        private Integer threads = 16;
+
+    }
+
 }
@@ -1,35 +1,112 @@
 package com.dxmy.template.common.oss;
 
+import com.dxmy.template.common.exception.BusinessException;
+import com.dxmy.template.common.response.Code;
 import io.minio.*;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.MinioException;
 import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
 import io.minio.messages.Item;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
 import org.dromara.hutool.core.data.id.IdUtil;
 import org.dromara.hutool.core.date.DateUtil;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * MinIO 管理器
  */
+@Slf4j
 @Component
 @SuppressWarnings("unused")
 public class MinioManager {
 
+    /** 未知内容类型时使用的默认值 */
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    /** 批量生成预签名 URL 时, 未命中数达到该值才并行签名 */
+    private static final int PARALLEL_SIGN_THRESHOLD = 16;
+    /** 批量删除时每批的对象数, 与 S3 DeleteObjects 接口的上限一致 */
+    private static final int DELETE_BATCH_SIZE = 1000;
+    /** 下载缓冲区大小 */
+    private static final int DOWNLOAD_BUFFER_SIZE = 64 * 1024;
+    /** 下载缓冲区池容量 */
+    private static final int DOWNLOAD_BUFFER_POOL_SIZE = 64;
+    /** 按前缀列举判断存在性时, 最多扫描的对象数与待判断对象数之比, 超出后改为逐个判断 */
+    private static final int LIST_SCAN_FACTOR = 4;
+
     @Resource
     private MinioClient minioClient;
+    @Resource
+    private MultipartUploader multipartUploader;
+    @Resource
+    private MinioConfig minioConfig;
 
     @Value("${minio.bucket-name}")
     private String bucketName;
 
+    /** 预签名 URL 缓存 */
+    private PresignedUrlCache presignedUrlCache;
+    /** 批量签名线程池 */
+    private ThreadPoolExecutor signExecutor;
+    /** 批量判断文件是否存在的线程池 */
+    private ThreadPoolExecutor bulkExecutor;
+    /** 可复用的下载缓冲区 */
+    private final BlockingQueue<byte[]> downloadBufferPool = new ArrayBlockingQueue<>(DOWNLOAD_BUFFER_POOL_SIZE);
+
+    @PostConstruct
+    public void init() {
+        MinioConfig.Presign presign = minioConfig.getPresign();
+        presignedUrlCache = new PresignedUrlCache(presign.getMaximumSize(), presign.getExpiry(), presign.getMinRemaining());
+
+        signExecutor = createExecutor(presign.getThreads(), "minio-presign-");
+        bulkExecutor = createExecutor(minioConfig.getBulk().getThreads(), "minio-bulk-");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        signExecutor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
     /**
      * 上传文件
      *
@@ -38,21 +115,21 @@ public class MinioManager {
      */
     public String uploadFile(MultipartFile file) throws Exception {
         try {
-            // 获取原始文件名和扩展名
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains("."))
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-
             // 生成随机文件名并拼接路径
-            String filename = IdUtil.simpleUUID();
-            String path = DateUtil.format(new Date(), "yyyy/MM/dd");
-            String objectName = path + "/" + filename + fileExtension;
+            String objectName = generateObjectName(file.getOriginalFilename());
 
             // 获取文件输入流和内容类型
             InputStream inputStream = file.getInputStream();
             String contentType = file.getContentType();
 
+            // 大文件并行分片上传
+            if (multipartUploader.shouldUse(file.getSize())) {
+                try (inputStream) {
+                    multipartUploader.upload(bucketName, objectName, inputStream, contentType);
+                }
+                return objectName;
+            }
+
             // 上传文件到 MinIO
             minioClient.putObject(PutObjectArgs
                     .builder()
@@ -71,26 +148,251 @@ public class MinioManager {
     }
 
     /**
-     * 生成预签名 URL
+     * 流式上传请求中的全部文件 - 逐个解析 multipart 请求体中的文件并直接写入 MinIO, 不缓冲整个文件
+     * <p>
+     * 每个文件占用一个分片大小的缓冲区, 上传过程中同时计算摘要; 任一文件失败时删除本次已上传的文件.
+     * 请求格式错误或超过大小, 文件数限制时抛出参数异常
      *
-     * @param objectName 对象名
-     * @return 预签名 URL
+     * @param request multipart 请求, 请求体不能已被解析
+     * @return 上传结果
      */
-    public String getPreSignedUrl(String objectName) throws Exception {
+    public StreamingUploadResult uploadFiles(HttpServletRequest request) throws Exception {
+        if (!JakartaServletFileUpload.isMultipartContent(request))
+            throw new BusinessException(Code.PARAMS_ERROR, "请求不是 multipart 格式");
+
+        MinioConfig.Streaming streaming = minioConfig.getStreaming();
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setSizeMax(streaming.getMaxRequestSize().toBytes());
+        upload.setFileSizeMax(streaming.getMaxFileSize().toBytes());
+
+        StreamingUploadResult result = new StreamingUploadResult();
+        try {
+            FileItemInputIterator iterator = upload.getItemIterator(request);
+            while (iterator.hasNext()) {
+                FileItemInput item = iterator.next();
+                try (InputStream inputStream = item.getInputStream()) {
+                    if (item.isFormField())
+                        result.getFields().put(item.getFieldName(), readField(inputStream, streaming));
+                    else if (item.getName() != null && !item.getName().isEmpty()) {
+                        // 解析迭代器不限制文件数, 在上传下一个文件前检查
+                        if (result.getFiles().size() >= streaming.getMaxFiles())
+                            throw new BusinessException(Code.PARAMS_ERROR, "文件数超过限制 " + streaming.getMaxFiles() + " 个");
+                        result.getFiles().add(uploadItem(item, inputStream, streaming));
+                    }
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            for (UploadedObject uploaded : result.getFiles())
+                deleteQuietly(uploaded.getObjectName());
+            // 超过大小限制或请求格式错误, 可能由 MinIO 客户端读取数据流时抛出
+            FileUploadException uploadException = findUploadException(e);
+            if (uploadException != null)
+                throw new BusinessException(Code.PARAMS_ERROR, "上传请求不合法: " + uploadException.getMessage());
+            if (e instanceof MinioException)
+                throw new Exception("[MinIO] 流式上传文件时出现 MinIO 异常: " + e.getMessage());
+            if (e instanceof IOException)
+                throw new Exception("[MinIO] 流式上传文件时出现 I/O 异常: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 上传数据流到指定对象
+     *
+     * @param objectName  对象名
+     * @param inputStream 数据流
+     * @param size        数据长度
+     * @param contentType 内容类型
+     */
+    public void uploadStream(String objectName, InputStream inputStream, long size, String contentType) throws Exception {
+        if (multipartUploader.shouldUse(size)) {
+            multipartUploader.upload(bucketName, objectName, inputStream, contentType);
+            return;
+        }
+
         try {
-            return minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs
+            minioClient.putObject(PutObjectArgs
                     .builder()
-                    .method(Method.GET)
                     .bucket(bucketName)
                     .object(objectName)
-                    .expiry(7, TimeUnit.DAYS)
+                    .stream(inputStream, size, -1)
+                    .contentType(contentType)
                     .build()
             );
-        } catch (Exception e) {
-            throw new Exception("[MinIO] 生成预签名 URL 时出现异常: " + e.getMessage());
+        } catch (MinioException e) {
+            throw new Exception("[MinIO] 上传数据流时出现 MinIO 异常: " + e.getMessage());
+        } catch (IOException e) {
+            throw new Exception("[MinIO] 上传数据流时出现 I/O 异常: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取文件数据流, 调用方负责关闭
+     *
+     * @param objectName 对象名
+     * @return 文件数据流
+     */
+    public InputStream getFileStream(String objectName) throws Exception {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder().bucket(bucketName).object(objectName).build());
+        } catch (MinioException e) {
+            throw new Exception("[MinIO] 获取文件时出现 MinIO 异常: " + e.getMessage());
+        } catch (IOException e) {
+            throw new Exception("[MinIO] 获取文件时出现 I/O 异常: " + e.getMessage());
         }
     }
 
+    /**
+     * 下载文件到响应 - 支持 Range / If-Range / If-None-Match, 以固定大小的缓冲区分块转发, 不加载整个对象
+     *
+     * @param objectName 对象名
+     * @param request    请求
+     * @param response   响应
+     */
+    public void download(String objectName, HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        StatObjectResponse stat;
+        try {
+            stat = minioClient.statObject(StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+        } catch (ErrorResponseException e) {
+            if (e.errorResponse().code().equals("NoSuchKey")) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            throw new Exception("[MinIO] 下载文件时出现 MinIO 异常: " + e.getMessage());
+        }
+
+        long size = stat.size();
+        String etag = "\"" + stat.etag() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, stat.lastModified().toInstant().toEpochMilli());
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // If-Range 与当前 ETag 不一致时, 说明对象已变化, 忽略 Range 返回完整内容
+        ByteRange range = null;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.equals(etag))
+            range = ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size);
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+
+        long offset = range != null ? range.getStart() : 0;
+        long length = range != null ? range.getLength() : size;
+        response.setContentType(stat.contentType() != null ? stat.contentType() : DEFAULT_CONTENT_TYPE);
+        response.setContentLengthLong(length);
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.getStart() + "-" + range.getEnd() + "/" + size);
+        }
+        if (length == 0 || "HEAD".equals(request.getMethod()))
+            return;
+
+        // 读取时校验 ETag, 避免对象在 stat 之后被覆盖而返回与响应头不一致的内容
+        GetObjectArgs args = GetObjectArgs
+                .builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .matchETag(stat.etag())
+                .offset(offset)
+                .length(length)
+                .build();
+        byte[] buffer = downloadBufferPool.poll();
+        if (buffer == null)
+            buffer = new byte[DOWNLOAD_BUFFER_SIZE];
+        try (InputStream inputStream = minioClient.getObject(args)) {
+            OutputStream outputStream = response.getOutputStream();
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                try {
+                    outputStream.write(buffer, 0, read);
+                } catch (IOException e) {
+                    // 客户端中断 (如视频拖动进度) 属于正常情况
+                    log.debug("[MinIO] 客户端已断开下载: {}", objectName);
+                    return;
+                }
+            }
+        } catch (MinioException e) {
+            throw new Exception("[MinIO] 下载文件时出现 MinIO 异常: " + e.getMessage());
+        } finally {
+            downloadBufferPool.offer(buffer);
+        }
+    }
+
+    /**
+     * 生成预签名 URL (GET)
+     *
+     * @param objectName 对象名
+     * @return 预签名 URL
+     */
+    public String getPreSignedUrl(String objectName) throws Exception {
+        return getPreSignedUrl(objectName, Method.GET);
+    }
+
+    /**
+     * 生成预签名 URL, 优先返回剩余有效期充足的缓存 URL
+     *
+     * @param objectName 对象名
+     * @param method     请求方法
+     * @return 预签名 URL
+     */
+    public String getPreSignedUrl(String objectName, Method method) throws Exception {
+        String url = presignedUrlCache.get(method, objectName);
+        return url != null ? url : signUrl(objectName, method);
+    }
+
+    /**
+     * 批量生成预签名 URL (GET), 未命中缓存的对象并行签名
+     *
+     * @param objectNames 对象名
+     * @return 对象名 -> 预签名 URL, 顺序与参数一致
+     */
+    public Map<String, String> getPreSignedUrls(Collection<String> objectNames) throws Exception {
+        Map<String, String> urls = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String objectName : objectNames) {
+            if (urls.containsKey(objectName))
+                continue;
+            String url = presignedUrlCache.get(Method.GET, objectName);
+            urls.put(objectName, url);
+            if (url == null)
+                misses.add(objectName);
+        }
+
+        // 未命中较少时直接签名, 避免线程切换的开销
+        if (misses.size() < PARALLEL_SIGN_THRESHOLD) {
+            for (String objectName : misses)
+                urls.put(objectName, signUrl(objectName, Method.GET));
+            return urls;
+        }
+
+        List<CompletableFuture<String>> futures = new ArrayList<>(misses.size());
+        for (String objectName : misses)
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return signUrl(objectName, Method.GET);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, signExecutor));
+        try {
+            for (int i = 0; i < misses.size(); i++)
+                urls.put(misses.get(i), futures.get(i).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw cause;
+            throw e;
+        }
+        return urls;
+    }
+
     /**
      * 删除文件
      *
@@ -101,6 +403,8 @@ public class MinioManager {
             minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(objectName).build());
         } catch (MinioException e) {
             throw new Exception("[MinIO] 删除文件时出现 MinIO 异常: " + e.getMessage());
+        } finally {
+            presignedUrlCache.invalidate(objectName);
         }
     }
 
@@ -128,6 +432,72 @@ public class MinioManager {
         }
     }
 
+    /**
+     * 批量删除文件, 每批最多 1000 个对象
+     *
+     * @param objectNames 对象名
+     * @return 删除失败的对象名 -> 错误信息, 全部成功时为空
+     */
+    public Map<String, String> deleteFiles(Collection<String> objectNames) throws Exception {
+        Map<String, String> failures = new LinkedHashMap<>();
+        List<DeleteObject> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        try {
+            for (String objectName : new LinkedHashSet<>(objectNames)) {
+                batch.add(new DeleteObject(objectName));
+                if (batch.size() == DELETE_BATCH_SIZE) {
+                    deleteBatch(batch, failures);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty())
+                deleteBatch(batch, failures);
+        } catch (MinioException e) {
+            throw new Exception("[MinIO] 批量删除文件时出现 MinIO 异常: " + e.getMessage());
+        } finally {
+            objectNames.forEach(presignedUrlCache::invalidate);
+        }
+        return failures;
+    }
+
+    /**
+     * 批量判断文件是否存在
+     * <p>
+     * 对象位于同一路径下时, 按公共前缀列举一次对象; 否则或列举范围过大时, 在线程池中并行逐个判断
+     *
+     * @param objectNames 对象名
+     * @return 对象名 -> 是否存在, 顺序与参数一致
+     */
+    public Map<String, Boolean> existAll(Collection<String> objectNames) throws Exception {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (String objectName : objectNames)
+            results.put(objectName, null);
+
+        TreeSet<String> pending = new TreeSet<>(results.keySet());
+        String prefix = commonPrefix(pending);
+        if (pending.size() > 1 && prefix.contains("/"))
+            existByListing(prefix, pending, results);
+
+        List<String> remaining = new ArrayList<>(pending);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(remaining.size());
+        for (String objectName : remaining)
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return doesFileExist(objectName);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, bulkExecutor));
+        try {
+            for (int i = 0; i < remaining.size(); i++)
+                results.put(remaining.get(i), futures.get(i).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw cause;
+            throw e;
+        }
+        return results;
+    }
+
     /**
      * 根据路径前缀列出桶内文件
      *
@@ -158,4 +528,230 @@ public class MinioManager {
         }
     }
 
+    /**
+     * 判断 If-None-Match 请求头是否匹配当前 ETag (弱比较)
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null)
+            return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*"))
+                return true;
+            if (tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if (tag.equals(etag))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 删除一批对象, 记录删除失败的对象
+     */
+    private void deleteBatch(List<DeleteObject> batch, Map<String, String> failures) throws Exception {
+        Iterable<Result<DeleteError>> errors = minioClient.removeObjects(RemoveObjectsArgs
+                .builder()
+                .bucket(bucketName)
+                .objects(batch)
+                .build()
+        );
+        // 删除结果是惰性的, 遍历时才发出请求
+        for (Result<DeleteError> result : errors) {
+            DeleteError error = result.get();
+            failures.put(error.objectName(), error.code() + ": " + error.message());
+        }
+    }
+
+    /**
+     * 按公共前缀顺序列举对象, 命中的对象从待判断集合中移除; 列举越过最大对象名或扫描数超限时停止
+     * <p>
+     * 列举结束且未超限时, 前缀下未出现的对象即不存在
+     */
+    private void existByListing(String prefix, TreeSet<String> pending, Map<String, Boolean> results)
+            throws Exception {
+        String last = pending.last();
+        int maxScanned = pending.size() * LIST_SCAN_FACTOR;
+        int scanned = 0;
+        boolean completed = true;
+        for (Result<Item> result : listFiles(prefix)) {
+            String objectName = result.get().objectName();
+            if (objectName.compareTo(last) > 0)
+                break;
+            if (pending.remove(objectName))
+                results.put(objectName, true);
+            if (++scanned >= maxScanned && !pending.isEmpty()) {
+                completed = false;
+                break;
+            }
+        }
+
+        if (completed) {
+            for (String objectName : pending)
+                results.put(objectName, false);
+            pending.clear();
+        }
+    }
+
+    /**
+     * 计算有序对象名集合的最长公共前缀
+     */
+    private static String commonPrefix(TreeSet<String> objectNames) {
+        if (objectNames.isEmpty())
+            return "";
+        String first = objectNames.first();
+        String last = objectNames.last();
+        int length = 0;
+        while (length < first.length() && length < last.length() && first.charAt(length) == last.charAt(length))
+            length++;
+        return first.substring(0, length);
+    }
+
+    /**
+     * 创建守护线程池
+     */
+    private static ThreadPoolExecutor createExecutor(int threads, String threadNamePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 签名并缓存预签名 URL
+     */
+    private String signUrl(String objectName, Method method) throws Exception {
+        try {
+            long signedNanos = System.nanoTime();
+            String url = minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs
+                    .builder()
+                    .method(method)
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .expiry((int) presignedUrlCache.getExpiry().toSeconds(), TimeUnit.SECONDS)
+                    .build()
+            );
+            presignedUrlCache.put(method, objectName, url, signedNanos);
+            return url;
+        } catch (Exception e) {
+            throw new Exception("[MinIO] 生成预签名 URL 时出现异常: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 上传单个文件项, 数据流经摘要计算后直接写入 MinIO
+     */
+    private UploadedObject uploadItem(FileItemInput item, InputStream inputStream, MinioConfig.Streaming streaming)
+            throws Exception {
+        MessageDigest messageDigest = MessageDigest.getInstance(streaming.getDigestAlgorithm());
+        CountingDigestInputStream digestStream = new CountingDigestInputStream(inputStream, messageDigest);
+        String objectName = generateObjectName(item.getName());
+        String contentType = item.getContentType() != null ? item.getContentType() : DEFAULT_CONTENT_TYPE;
+        long partSize = Math.max(streaming.getPartSize().toBytes(), ObjectWriteArgs.MIN_MULTIPART_SIZE);
+
+        // 长度未知, 由 MinIO 客户端按分片大小逐片读取并上传
+        ObjectWriteResponse response = minioClient.putObject(PutObjectArgs
+                .builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .stream(digestStream, -1, partSize)
+                .contentType(contentType)
+                .build()
+        );
+        return UploadedObject
+                .builder()
+                .fieldName(item.getFieldName())
+                .originalFilename(item.getName())
+                .objectName(objectName)
+                .contentType(contentType)
+                .size(digestStream.getCount())
+                .digestAlgorithm(streaming.getDigestAlgorithm())
+                .digest(HexFormat.of().formatHex(messageDigest.digest()))
+                .etag(response.etag())
+                .build();
+    }
+
+    /**
+     * 读取表单字段, 超过大小限制时抛出参数异常
+     */
+    private String readField(InputStream inputStream, MinioConfig.Streaming streaming) throws IOException {
+        int maxFieldSize = (int) streaming.getMaxFieldSize().toBytes();
+        byte[] bytes = inputStream.readNBytes(maxFieldSize + 1);
+        if (bytes.length > maxFieldSize)
+            throw new BusinessException(Code.PARAMS_ERROR, "表单字段超过大小限制 " + maxFieldSize + " 字节");
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 在异常及其原因中查找 multipart 解析异常 (超过大小限制, 格式错误等)
+     */
+    private static FileUploadException findUploadException(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause())
+            if (cause instanceof FileUploadException uploadException)
+                return uploadException;
+        return null;
+    }
+
+    private void deleteQuietly(String objectName) {
+        try {
+            deleteFile(objectName);
+        } catch (Exception e) {
+            log.warn("[MinIO] 清理已上传文件失败: {}", objectName, e);
+        }
+    }
+
+    /**
+     * 生成对象名 - 日期路径 + 随机文件名 + 原始扩展名
+     */
+    private String generateObjectName(String originalFilename) {
+        String fileExtension = "";
+        if (originalFilename != null && originalFilename.contains("."))
+            fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
+
+        String filename = IdUtil.simpleUUID();
+        String path = DateUtil.format(new Date(), "yyyy/MM/dd");
+        return path + "/" + filename + fileExtension;
+    }
+
+    /**
+     * 统计读取字节数的摘要输入流
+     */
+    private static class CountingDigestInputStream extends DigestInputStream {
+
+        private long count;
+
+        private CountingDigestInputStream(InputStream stream, MessageDigest digest) {
+            super(stream, digest);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0)
+                count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0)
+                count += read;
+            return read;
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+    }
+
 }
@@ -0,0 +1,75 @@
+package com.dxmy.template.common.oss;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.messages.Part;
+
+/**
+ * MinIO 分片上传客户端 - 公开 MinIO 客户端中受保护的分片上传接口
+ */
+public class MinioMultipartClient extends MinioAsyncClient {
+
+    public MinioMultipartClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /**
+     * 创建分片上传
+     *
+     * @param bucketName  桶名
+     * @param objectName  对象名
+     * @param contentType 内容类型
+     * @return 上传 ID
+     */
+    public String createMultipartUpload(String bucketName, String objectName, String contentType) throws Exception {
+        Multimap<String, String> headers = HashMultimap.create();
+        if (contentType != null)
+            headers.put("Content-Type", contentType);
+        return createMultipartUploadAsync(bucketName, null, objectName, headers, null).get().result().uploadId();
+    }
+
+    /**
+     * 上传分片
+     *
+     * @param bucketName 桶名
+     * @param objectName 对象名
+     * @param uploadId   上传 ID
+     * @param partNumber 分片序号, 从 1 开始
+     * @param data       分片数据
+     * @param length     分片长度
+     * @return 分片
+     */
+    public Part uploadPart(String bucketName, String objectName, String uploadId, int partNumber, byte[] data,
+            int length) throws Exception {
+        String etag = uploadPartAsync(bucketName, null, objectName, data, length, uploadId, partNumber, null, null)
+                .get()
+                .etag();
+        return new Part(partNumber, etag);
+    }
+
+    /**
+     * 完成分片上传
+     *
+     * @param bucketName 桶名
+     * @param objectName 对象名
+     * @param uploadId   上传 ID
+     * @param parts      按序号排列的分片
+     */
+    public void completeMultipartUpload(String bucketName, String objectName, String uploadId, Part[] parts)
+            throws Exception {
+        completeMultipartUploadAsync(bucketName, null, objectName, uploadId, parts, null, null).get();
+    }
+
+    /**
+     * 中止分片上传, 清除已上传的分片
+     *
+     * @param bucketName 桶名
+     * @param objectName 对象名
+     * @param uploadId   上传 ID
+     */
+    public void abortMultipartUpload(String bucketName, String objectName, String uploadId) throws Exception {
+        abortMultipartUploadAsync(bucketName, null, objectName, uploadId, null, null).get();
+    }
+
+}
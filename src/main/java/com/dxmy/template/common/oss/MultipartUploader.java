@@ -0,0 +1,197 @@
+package com.dxmy.template.common.oss;
+
+import com.dxmy.template.common.context.ContextPropagatingExecutorService;
+import io.minio.messages.Part;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MinIO 并行分片上传器 - 顺序读取数据流并切分为分片, 由上传线程池并行上传
+ * <p>
+ * 每次上传最多同时持有 concurrency 个分片缓冲区, 缓冲区用尽时读取方等待, 内存占用为 分片大小 * 并发数;
+ * 单个分片失败时按指数退避重试, 重试耗尽后中止整个分片上传, 清除已上传的分片
+ */
+@Slf4j
+@Component
+public class MultipartUploader {
+
+    /** 单个对象的最大分片数 */
+    private static final int MAX_PARTS = 10000;
+    /** 最小分片大小 */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    /** 重试的初始退避时间 (单位: 毫秒) */
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+
+    @Resource
+    private MinioMultipartClient minioMultipartClient;
+    @Resource
+    private MinioConfig minioConfig;
+
+    /** 上传线程池, 任务在提交线程的上下文中执行 */
+    private ExecutorService uploadExecutor;
+
+    @PostConstruct
+    public void start() {
+        int threads = minioConfig.getMultipart().getThreads();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "minio-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        threadPool.allowCoreThreadTimeOut(true);
+        uploadExecutor = new ContextPropagatingExecutorService(threadPool);
+    }
+
+    @PreDestroy
+    public void stop() {
+        uploadExecutor.shutdownNow();
+    }
+
+    /**
+     * 判断指定大小的文件是否应使用分片上传
+     *
+     * @param size 文件大小
+     * @return 是否使用分片上传
+     */
+    public boolean shouldUse(long size) {
+        return size >= minioConfig.getMultipart().getThreshold().toBytes();
+    }
+
+    /**
+     * 分片上传数据流
+     *
+     * @param bucketName  桶名
+     * @param objectName  对象名
+     * @param inputStream 数据流, 由调用方关闭
+     * @param contentType 内容类型
+     */
+    public void upload(String bucketName, String objectName, InputStream inputStream, String contentType)
+            throws Exception {
+        MinioConfig.Multipart multipart = minioConfig.getMultipart();
+        int partSize = (int) Math.max(multipart.getPartSize().toBytes(), MIN_PART_SIZE);
+        int concurrency = multipart.getConcurrency();
+
+        String uploadId = minioMultipartClient.createMultipartUpload(bucketName, objectName, contentType);
+        BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(concurrency);
+        List<Future<Part>> futures = new ArrayList<>();
+        try {
+            int allocated = 0;
+            int length;
+            do {
+                // 缓冲区未用尽时新建, 否则等待进行中的分片归还
+                byte[] buffer = buffers.poll();
+                if (buffer == null && allocated < concurrency) {
+                    buffer = new byte[partSize];
+                    allocated++;
+                }
+                if (buffer == null)
+                    buffer = buffers.take();
+
+                checkFailure(futures);
+                length = readFully(inputStream, buffer);
+                if (length == 0 && !futures.isEmpty())
+                    break;
+                if (futures.size() == MAX_PARTS)
+                    throw new IOException("分片数超过上限 " + MAX_PARTS + ", 请增大分片大小");
+
+                int partNumber = futures.size() + 1;
+                int partLength = length;
+                byte[] partBuffer = buffer;
+                futures.add(uploadExecutor.submit(() -> {
+                    try {
+                        return uploadPartWithRetry(bucketName, objectName, uploadId, partNumber, partBuffer, partLength);
+                    } finally {
+                        buffers.offer(partBuffer);
+                    }
+                }));
+            } while (length == partSize);
+
+            Part[] parts = new Part[futures.size()];
+            for (int i = 0; i < parts.length; i++)
+                parts[i] = futures.get(i).get();
+            minioMultipartClient.completeMultipartUpload(bucketName, objectName, uploadId, parts);
+            log.debug("[MinIO] 分片上传完成, 对象: {}, 分片数: {}", objectName, parts.length);
+        } catch (Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            abort(bucketName, objectName, uploadId);
+            if (e instanceof InterruptedException)
+                Thread.currentThread().interrupt();
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            throw new Exception("[MinIO] 分片上传失败: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 上传分片, 失败时按指数退避重试
+     */
+    private Part uploadPartWithRetry(String bucketName, String objectName, String uploadId, int partNumber,
+            byte[] data, int length) throws Exception {
+        int maxRetries = minioConfig.getMultipart().getMaxRetries();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return minioMultipartClient.uploadPart(bucketName, objectName, uploadId, partNumber, data, length);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (attempt >= maxRetries)
+                    throw e;
+                log.warn("[MinIO] 分片上传失败, 准备重试, 对象: {}, 分片: {}, 第 {} 次重试", objectName, partNumber, attempt + 1, e);
+                Thread.sleep(RETRY_BACKOFF_MILLIS << attempt);
+            }
+        }
+    }
+
+    /**
+     * 已有分片重试耗尽时提前结束, 不再读取后续数据
+     */
+    private void checkFailure(List<Future<Part>> futures) throws ExecutionException, InterruptedException {
+        for (Future<Part> future : futures)
+            if (future.isDone())
+                future.get();
+    }
+
+    private void abort(String bucketName, String objectName, String uploadId) {
+        try {
+            minioMultipartClient.abortMultipartUpload(bucketName, objectName, uploadId);
+        } catch (Exception e) {
+            log.warn("[MinIO] 中止分片上传失败, 对象: {}, 上传 ID: {}", objectName, uploadId, e);
+        }
+    }
+
+    /**
+     * 读满缓冲区, 数据流结束时返回实际读取的长度
+     */
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = inputStream.read(buffer, total, buffer.length - total);
+            if (read < 0)
+                break;
+            total += read;
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.dxmy.template.common.oss;
+
+import com.dxmy.template.common.response.R;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 对象存储接口
+ */
+@RestController
+@RequestMapping("/oss")
+@Tag(name = "对象存储")
+public class OssController {
+
+    @Resource
+    private MinioManager minioManager;
+
+    /**
+     * 流式上传文件 - 请求体中的文件直接写入 MinIO, 不经过内存或临时文件缓冲
+     *
+     * @param request multipart 请求
+     * @return 上传结果
+     */
+    @StreamingUpload
+    @PostMapping("/stream-upload")
+    @Operation(summary = "流式上传文件")
+    public R<StreamingUploadResult> streamUpload(HttpServletRequest request) throws Exception {
+        return R.ok(minioManager.uploadFiles(request));
+    }
+
+    /**
+     * 下载文件 - 支持 Range 断点续传与 If-None-Match 协商缓存
+     *
+     * @param objectName 对象名
+     * @param request    请求
+     * @param response   响应
+     */
+    @GetMapping("/download")
+    @Operation(summary = "下载文件")
+    public void download(@RequestParam String objectName, HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        minioManager.download(objectName, request, response);
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.dxmy.template.common.oss;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.minio.http.Method;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+
+/**
+ * 预签名 URL 缓存 - 按 (请求方法, 对象名) 缓存预签名 URL
+ * <p>
+ * 条目在剩余有效期低于阈值时过期, 因此取得的 URL 至少还有阈值时长的有效期
+ */
+public class PresignedUrlCache {
+
+    private final Cache<String, CachedUrl> cache;
+    /** URL 有效期 */
+    private final Duration expiry;
+    /** 返回 URL 所需的最短剩余有效期 */
+    private final Duration minRemaining;
+
+    public PresignedUrlCache(long maximumSize, Duration expiry, Duration minRemaining) {
+        if (minRemaining.compareTo(expiry) >= 0)
+            throw new IllegalArgumentException("预签名 URL 的最短剩余有效期须小于有效期");
+
+        this.expiry = expiry;
+        this.minRemaining = minRemaining;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maximumSize)
+                             .expireAfter(new Expiry<String, CachedUrl>() {
+                                 @Override
+                                 public long expireAfterCreate(@NonNull String key, @NonNull CachedUrl value, long currentTime) {
+                                     return value.reuseUntilNanos - currentTime;
+                                 }
+
+                                 @Override
+                                 public long expireAfterUpdate(@NonNull String key, @NonNull CachedUrl value, long currentTime,
+                                         long currentDuration) {
+                                     return value.reuseUntilNanos - currentTime;
+                                 }
+
+                                 @Override
+                                 public long expireAfterRead(@NonNull String key, @NonNull CachedUrl value, long currentTime,
+                                         long currentDuration) {
+                                     return currentDuration;
+                                 }
+                             })
+                             .build();
+    }
+
+    /**
+     * 获取 URL 有效期
+     */
+    public Duration getExpiry() {
+        return expiry;
+    }
+
+    /**
+     * 获取缓存的预签名 URL, 不存在或剩余有效期不足时返回 null
+     *
+     * @param method     请求方法
+     * @param objectName 对象名
+     * @return 预签名 URL
+     */
+    public String get(Method method, String objectName) {
+        CachedUrl cachedUrl = cache.getIfPresent(toKey(method, objectName));
+        return cachedUrl != null ? cachedUrl.url : null;
+    }
+
+    /**
+     * 缓存预签名 URL
+     *
+     * @param method      请求方法
+     * @param objectName  对象名
+     * @param url         预签名 URL
+     * @param signedNanos 签名时间 ({@link System#nanoTime()})
+     */
+    public void put(Method method, String objectName, String url, long signedNanos) {
+        long reuseUntilNanos = signedNanos + expiry.toNanos() - minRemaining.toNanos();
+        cache.put(toKey(method, objectName), new CachedUrl(url, reuseUntilNanos));
+    }
+
+    /**
+     * 清除对象的全部预签名 URL
+     *
+     * @param objectName 对象名
+     */
+    public void invalidate(String objectName) {
+        for (Method method : Method.values())
+            cache.invalidate(toKey(method, objectName));
+    }
+
+    private static String toKey(Method method, String objectName) {
+        return method.name() + ":" + objectName;
+    }
+
+    /**
+     * 缓存的预签名 URL
+     */
+    private static class CachedUrl {
+
+        private final String url;
+        /** 可复用的截止时间, 即签名时间 + 有效期 - 最短剩余有效期 */
+        private final long reuseUntilNanos;
+
+        private CachedUrl(String url, long reuseUntilNanos) {
+            this.url = url;
+            this.reuseUntilNanos = reuseUntilNanos;
+        }
+
+    }
+
+}
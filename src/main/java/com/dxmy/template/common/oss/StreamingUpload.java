@@ -0,0 +1,13 @@
+package com.dxmy.template.common.oss;
+
+import java.lang.annotation.*;
+
+/**
+ * 流式上传接口注解 - 请求体由接口自行读取, 请求日志不解析其请求参数, 以免提前消费请求体
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StreamingUpload {
+
+}
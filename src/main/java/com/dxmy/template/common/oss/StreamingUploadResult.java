@@ -0,0 +1,24 @@
+package com.dxmy.template.common.oss;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流式上传结果
+ */
+@Data
+@Schema(name = "流式上传结果")
+public class StreamingUploadResult {
+
+    @Schema(name = "表单字段")
+    private Map<String, String> fields = new LinkedHashMap<>();
+
+    @Schema(name = "已上传文件")
+    private List<UploadedObject> files = new ArrayList<>();
+
+}
@@ -0,0 +1,43 @@
+package com.dxmy.template.common.oss;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 已上传对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "已上传对象")
+public class UploadedObject {
+
+    @Schema(name = "表单字段名", example = "file")
+    private String fieldName;
+
+    @Schema(name = "原始文件名", example = "avatar.png")
+    private String originalFilename;
+
+    @Schema(name = "对象名", example = "2024/01/01/0123456789abcdef0123456789abcdef.png")
+    private String objectName;
+
+    @Schema(name = "内容类型", example = "image/png")
+    private String contentType;
+
+    @Schema(name = "文件大小 (单位: 字节)", example = "1024")
+    private Long size;
+
+    @Schema(name = "摘要算法", example = "SHA-256")
+    private String digestAlgorithm;
+
+    @Schema(name = "摘要 (十六进制)", example = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855")
+    private String digest;
+
+    @Schema(name = "ETag", example = "d41d8cd98f00b204e9800998ecf8427e")
+    private String etag;
+
+}
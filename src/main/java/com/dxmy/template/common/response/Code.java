@@ -15,6 +15,7 @@ public enum Code {
     FILE_PROCESSING_ERROR(40002, "文件处理异常"),
     NOT_LOGIN_ERROR(40100, "登录状态异常"),
     AUTH_ERROR(40300, "用户权限异常"),
+    TOO_MANY_REQUESTS(42900, "请求过于频繁"),
     SYSTEM_ERROR(50000, "系统未知异常");
 
     private final Integer code;
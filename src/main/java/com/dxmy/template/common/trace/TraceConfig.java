@@ -0,0 +1,91 @@
+package com.dxmy.template.common.trace;
+
+import com.dxmy.template.common.context.ContextSnapshot;
+import lombok.NonNull;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.MDC;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 链路传递配置
+ */
+@Configuration
+public class TraceConfig {
+
+    /**
+     * Spring 线程池任务 (@Async 等) 在提交线程的上下文中执行
+     */
+    @Bean
+    public TaskDecorator contextTaskDecorator() {
+        return runnable -> ContextSnapshot.capture().wrap(runnable);
+    }
+
+    /**
+     * 发送 AMQP 消息时写入链路 ID 消息头
+     */
+    @Bean
+    public RabbitTemplateCustomizer traceRabbitTemplateCustomizer() {
+        return rabbitTemplate -> rabbitTemplate.addBeforePublishPostProcessors(message -> {
+            String traceId = TraceContext.getTraceId();
+            if (traceId != null)
+                message.getMessageProperties().setHeader(TraceContext.TRACE_ID_HEADER, traceId);
+            return message;
+        });
+    }
+
+    /**
+     * 消费 AMQP 消息前沿用消息头中的链路 ID, 消息头不存在时生成新的链路 ID
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> traceContainerCustomizer() {
+        return container -> container.addAfterReceivePostProcessors(message -> {
+            TraceContext.start(null, getTraceIdHeader(message));
+            return message;
+        });
+    }
+
+    /**
+     * 消费 AMQP 消息后清除消费线程的 MDC, 以免链路 ID 及监听器写入的其他键残留到后续日志中
+     * <p>
+     * 清除逻辑置于监听容器通知链的最外层, 在重试等通知全部结束后执行
+     */
+    @Bean
+    public static BeanPostProcessor traceListenerContainerFactoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof SimpleRabbitListenerContainerFactory factory) {
+                    Advice[] adviceChain = factory.getAdviceChain();
+                    int length = adviceChain != null ? adviceChain.length : 0;
+                    Advice[] chain = new Advice[length + 1];
+                    chain[0] = (MethodInterceptor) invocation -> {
+                        try {
+                            return invocation.proceed();
+                        } finally {
+                            MDC.clear();
+                        }
+                    };
+                    if (length > 0)
+                        System.arraycopy(adviceChain, 0, chain, 1, length);
+                    factory.setAdviceChain(chain);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static String getTraceIdHeader(Message message) {
+        Object traceId = message.getMessageProperties().getHeader(TraceContext.TRACE_ID_HEADER);
+        return traceId != null ? traceId.toString() : null;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.dxmy.template.common.trace;
+
+import org.slf4j.MDC;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 链路上下文
+ * <p>
+ * 链路 ID 存放于 MDC, 因此会随日志输出, 并可通过 {@link com.dxmy.template.common.context.ContextSnapshot} 传递到其他线程
+ */
+public final class TraceContext {
+
+    /** 链路 ID 在 MDC 中的键名 */
+    public static final String TRACE_ID_KEY = "traceId";
+    /** 链路 ID 请求头 / 消息头 */
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    /** W3C Trace Context 请求头 */
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    /** 外部传入的链路 ID 格式, 限制字符与长度以免污染日志 */
+    private static final Pattern TRACE_ID_PATTERN = Pattern.compile("[0-9A-Za-z-]{8,64}");
+    /** traceparent 格式: 版本-链路 ID-父片段 ID-标志 */
+    private static final Pattern TRACEPARENT_PATTERN = Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
+    private TraceContext() {
+    }
+
+    /**
+     * 获取当前链路 ID
+     */
+    public static String getTraceId() {
+        return MDC.get(TRACE_ID_KEY);
+    }
+
+    /**
+     * 开始链路, 优先沿用外部传入的链路 ID, 否则生成新的链路 ID
+     *
+     * @param traceparent W3C traceparent 头, 可为 null
+     * @param traceId     X-Trace-Id 头, 可为 null
+     * @return 链路 ID
+     */
+    public static String start(String traceparent, String traceId) {
+        String resolved = resolve(traceparent, traceId);
+        MDC.put(TRACE_ID_KEY, resolved);
+        return resolved;
+    }
+
+    /**
+     * 结束链路
+     */
+    public static void clear() {
+        MDC.remove(TRACE_ID_KEY);
+    }
+
+    private static String resolve(String traceparent, String traceId) {
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT_PATTERN.matcher(traceparent.trim());
+            if (matcher.matches() && !INVALID_TRACE_ID.equals(matcher.group(1)))
+                return matcher.group(1);
+        }
+        if (traceId != null && TRACE_ID_PATTERN.matcher(traceId).matches())
+            return traceId;
+        return TraceIdGenerator.nextTraceId();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.dxmy.template.common.trace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 链路过滤器 - 位于过滤器链最前端, 使后续过滤器, 拦截器与全局异常处理的日志均带有链路 ID
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceFilter extends OncePerRequestFilter {
+
+    /** 链路 ID 请求属性名 */
+    private static final String TRACE_ID_ATTRIBUTE = TraceFilter.class.getName() + ".traceId";
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // 异步分派时沿用首次分派确定的链路 ID
+        String traceId = (String) request.getAttribute(TRACE_ID_ATTRIBUTE);
+        if (traceId == null) {
+            traceId = TraceContext.start(request.getHeader(TraceContext.TRACEPARENT_HEADER),
+                    request.getHeader(TraceContext.TRACE_ID_HEADER));
+            request.setAttribute(TRACE_ID_ATTRIBUTE, traceId);
+            response.setHeader(TraceContext.TRACE_ID_HEADER, traceId);
+        } else {
+            TraceContext.start(null, traceId);
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TraceContext.clear();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.dxmy.template.common.trace;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+
+/**
+ * OkHttp 链路拦截器 - 为外部调用写入链路 ID 请求头, 并输出调用日志
+ * <p>
+ * 异步调用由调度器线程执行, 且排队的调用会在其他调用结束的线程中被提交, 执行时的线程上下文与发起方无关.
+ * 因此需同时注册 {@link #eventListenerFactory()}, 在发起方线程创建调用时记录链路 ID, 执行时按调用取回
+ */
+@Slf4j
+public class TraceHttpInterceptor implements Interceptor {
+
+    /** 调用日志标识, 如 "MinIO" */
+    private final String target;
+    /** 各调用创建时的链路 ID, 调用对象被回收后自动移除 */
+    private final Cache<Call, String> callTraceIds = Caffeine.newBuilder().weakKeys().build();
+
+    public TraceHttpInterceptor(String target) {
+        this.target = target;
+    }
+
+    /**
+     * 创建调用时记录发起方线程的链路 ID, OkHttp 在调用方线程创建监听器
+     */
+    public EventListener.Factory eventListenerFactory() {
+        return call -> {
+            String traceId = TraceContext.getTraceId();
+            if (traceId != null)
+                callTraceIds.put(call, traceId);
+            return EventListener.NONE;
+        };
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        String traceId = callTraceIds.getIfPresent(chain.call());
+        if (traceId == null)
+            return proceed(chain, TraceContext.getTraceId());
+
+        // 调度器线程中临时写入调用的链路 ID, 使调用日志带有链路 ID
+        String previousTraceId = TraceContext.getTraceId();
+        MDC.put(TraceContext.TRACE_ID_KEY, traceId);
+        try {
+            return proceed(chain, traceId);
+        } finally {
+            if (previousTraceId != null)
+                MDC.put(TraceContext.TRACE_ID_KEY, previousTraceId);
+            else
+                TraceContext.clear();
+        }
+    }
+
+    private Response proceed(Chain chain, String traceId) throws IOException {
+        Request request = chain.request();
+        if (traceId != null)
+            request = request.newBuilder().header(TraceContext.TRACE_ID_HEADER, traceId).build();
+
+        long startTime = System.currentTimeMillis();
+        Response response = chain.proceed(request);
+        log.debug("[{}] {} {} ==> {} - {} ms", target, request.method(), request.url().encodedPath(),
+                response.code(), System.currentTimeMillis() - startTime);
+        return response;
+    }
+
+}
@@ -1,6 +1,17 @@
 package com.dxmy.template.config;
 
+import com.dxmy.template.common.cache.RedisClientProperties;
+import com.dxmy.template.common.cache.RedisService;
+import com.dxmy.template.common.cache.codec.CodecFormat;
+import com.dxmy.template.common.cache.codec.CompactCodec;
+import com.dxmy.template.common.cache.codec.CompactRedisSerializer;
+import com.dxmy.template.common.cache.spring.LocalCacheSpec;
+import com.dxmy.template.common.cache.spring.RefreshSpec;
+import com.dxmy.template.common.cache.spring.SingleFlightMode;
+import com.dxmy.template.common.cache.spring.TieredCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Data;
+import org.redisson.api.RedissonClient;
 import org.springframework.boot.autoconfigure.cache.CacheProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -10,9 +21,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.CacheKeyPrefix;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -35,15 +47,26 @@ public class SpringCacheConfig {
     /** 自定义各缓存过期时间 */
     private Map<String, Duration> timeToLive;
 
+    /** 自定义各缓存的本地一级缓存, 未配置的缓存仅使用 Redis */
+    private Map<String, LocalCacheSpec> local;
+
+    /** 自定义各缓存未命中时的合并加载模式, 需配合 @Cacheable(sync = true) 使用 */
+    private Map<String, SingleFlightMode> singleFlight;
+
+    /** 自定义各缓存的提前刷新, 需配合 @Cacheable(sync = true) 使用 */
+    private Map<String, RefreshSpec> refreshAhead;
+
     /**
-     * 配置 Redis 缓存管理器
+     * 配置 Redis 缓存管理器 (本地一级缓存 + Redis 二级缓存)
      */
     @Bean
-    public CacheManager redisCacheManager(CacheProperties cacheProperties, RedisConnectionFactory connectionFactory) {
-        // 获取默认配置, 并配置 JSON 序列化器
+    public CacheManager redisCacheManager(CacheProperties cacheProperties, RedisConnectionFactory connectionFactory,
+            RedissonClient redissonClient, RedisService redisService, RedisClientProperties redisClientProperties,
+            MeterRegistry meterRegistry) {
+        // 获取默认配置, 并配置值序列化器
         RedisCacheConfiguration config = RedisCacheConfiguration
                 .defaultCacheConfig()
-                .serializeValuesWith(fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .serializeValuesWith(fromSerializer(createValueSerializer(redisClientProperties.getCodec())));
 
         // 使用配置文件中的配置覆盖默认配置
         CacheProperties.Redis redisCacheProperties = cacheProperties.getRedis();
@@ -60,11 +83,35 @@ public class SpringCacheConfig {
             for (String cacheName : timeToLive.keySet())
                 cacheConfigs.put(cacheName, config.entryTtl(timeToLive.get(cacheName)));
 
-        return RedisCacheManager
-                .builder(connectionFactory)
-                .cacheDefaults(config)
-                .withInitialCacheConfigurations(cacheConfigs)
-                .build();
+        TieredCacheManager cacheManager = new TieredCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), config, cacheConfigs, redissonClient);
+
+        // 为配置了本地缓存的缓存叠加本地一级缓存
+        if (!CollectionUtils.isEmpty(local))
+            cacheManager.setLocalSpecs(local);
+
+        // 为配置了合并加载的缓存开启合并加载, 防止缓存击穿
+        cacheManager.setRedisService(redisService);
+        if (!CollectionUtils.isEmpty(singleFlight))
+            cacheManager.setSingleFlightModes(singleFlight);
+
+        // 为配置了提前刷新的缓存开启后台刷新, 避免过期时的同步加载
+        if (!CollectionUtils.isEmpty(refreshAhead))
+            cacheManager.setRefreshSpecs(refreshAhead);
+
+        // 统计各缓存的命中率, 加载耗时与值大小, 通过 Actuator 导出
+        cacheManager.setMeterRegistry(meterRegistry);
+
+        return cacheManager;
+    }
+
+    /**
+     * 根据编解码属性创建值序列化器
+     */
+    private RedisSerializer<Object> createValueSerializer(RedisClientProperties.CodecProperties codecProperties) {
+        if (codecProperties.getFormat() == CodecFormat.JSON)
+            return new GenericJackson2JsonRedisSerializer();
+        return new CompactRedisSerializer(new CompactCodec(codecProperties.getFormat(), codecProperties.getCompressThreshold()));
     }
 
 }
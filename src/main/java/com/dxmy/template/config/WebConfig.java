@@ -1,12 +1,15 @@
 package com.dxmy.template.config;
 
 import com.dxmy.template.common.auth.AuthInterceptor;
+import com.dxmy.template.common.latency.LatencyInterceptor;
+import com.dxmy.template.common.log.request.RequestBodyCachingInterceptor;
 import jakarta.annotation.Resource;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -39,6 +42,14 @@ public class WebConfig implements WebMvcConfigurer {
     @Resource
     private AuthInterceptor authInterceptor;
 
+    /** 接口耗时拦截器 */
+    @Resource
+    private LatencyInterceptor latencyInterceptor;
+
+    /** 请求体缓存拦截器 */
+    @Resource
+    private RequestBodyCachingInterceptor requestBodyCachingInterceptor;
+
     /**
      * 添加拦截器
      */
@@ -49,6 +60,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .excludePathPatterns(apiDocPaths)
                 .excludePathPatterns(skipAuthPaths);
         log.info("[鉴权拦截器] 配置成功, 排除路径: {}", String.join(", ", skipAuthPaths));
+
+        // 耗时拦截器位于最前, 使耗时包含其他拦截器
+        registry.addInterceptor(latencyInterceptor)
+                .addPathPatterns("/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+
+        // 处理方法已确定, 请求体尚未读取
+        registry.addInterceptor(requestBodyCachingInterceptor)
+                .addPathPatterns("/**");
     }
 
 }
@@ -0,0 +1,72 @@
+package com.dxmy.template.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLocalCachedMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.options.LocalCachedMapOptions;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedissonServiceTest {
+
+    private final Map<String, String> cachedMap = new ConcurrentHashMap<>();
+    private RLocalCachedMap<String, String> localCachedMap;
+    private RedissonService redissonService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        localCachedMap = mock(RLocalCachedMap.class);
+        when(localCachedMap.getCachedMap()).thenReturn(cachedMap);
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.<String, String>getLocalCachedMap(any(LocalCachedMapOptions.class))).thenReturn(localCachedMap);
+
+        redissonService = new RedissonService();
+        ReflectionTestUtils.setField(redissonService, "redissonClient", redissonClient);
+    }
+
+    @Test
+    void countsReadsThroughReturnedMap() {
+        cachedMap.put("a", "1");
+        when(localCachedMap.get("b")).thenReturn("2");
+        when(localCachedMap.getAll(Set.of("c"))).thenReturn(Map.of("c", "3"));
+
+        RLocalCachedMap<String, String> map = redissonService.getLocalCachedMap("config", LocalMapOptions.builder().build());
+        assertEquals("1", map.get("a"));
+        assertEquals("2", map.get("b"));
+        assertEquals(Map.of("a", "1", "c", "3"), map.getAll(new LinkedHashSet<>(List.of("a", "c"))));
+        assertEquals("1", redissonService.getFromLocalCachedMap("config", "a"));
+
+        LocalMapStats stats = redissonService.getLocalCachedMapStats("config");
+        assertEquals(3, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        verify(localCachedMap, never()).get("a");
+    }
+
+    @Test
+    void rejectsConflictingOptions() {
+        redissonService.getFromLocalCachedMap("config", "a");
+
+        LocalMapOptions options = LocalMapOptions.builder().cacheSize(10).build();
+        assertThrows(IllegalStateException.class, () -> redissonService.getLocalCachedMap("config", options));
+
+        RLocalCachedMap<String, String> map = redissonService.getLocalCachedMap("config", LocalMapOptions.builder().build());
+        assertSame(map, redissonService.getLocalCachedMap("config", LocalMapOptions.builder().build()));
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.dxmy.template.common.cache.codec;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.cache.support.NullValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactCodecTest {
+
+    @ParameterizedTest
+    @EnumSource(value = CodecFormat.class, names = {"SMILE", "CBOR"})
+    void roundTripNull(CodecFormat format) throws Exception {
+        CompactCodec codec = new CompactCodec(format, 0);
+
+        assertNull(codec.decode(codec.encode(null)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CodecFormat.class, names = {"SMILE", "CBOR"})
+    void roundTripNullValue(CodecFormat format) throws Exception {
+        CompactCodec codec = new CompactCodec(format, 0);
+
+        // 缓存按引用识别空值占位符, 解码结果必须是单例
+        assertSame(NullValue.INSTANCE, codec.decode(codec.encode(NullValue.INSTANCE)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CodecFormat.class, names = {"SMILE", "CBOR"})
+    void roundTripScalars(CodecFormat format) throws Exception {
+        CompactCodec codec = new CompactCodec(format, 0);
+
+        assertEquals("hello 你好", codec.decode(codec.encode("hello 你好")));
+        assertEquals(42L, codec.decode(codec.encode(42L)));
+        assertEquals(Long.MAX_VALUE, codec.decode(codec.encode(Long.MAX_VALUE)));
+        assertEquals(7, codec.decode(codec.encode(7)));
+        assertEquals(true, codec.decode(codec.encode(true)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CodecFormat.class, names = {"SMILE", "CBOR"})
+    void roundTripCollections(CodecFormat format) throws Exception {
+        CompactCodec codec = new CompactCodec(format, 0);
+
+        List<Long> list = new ArrayList<>(List.of(1L, 2L, 3L));
+        Set<String> set = new LinkedHashSet<>(List.of("a", "b"));
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", 1L);
+        map.put("tags", new ArrayList<>(List.of("x", "y")));
+
+        assertEquals(list, codec.decode(codec.encode(list)));
+        assertEquals(set, codec.decode(codec.encode(set)));
+        assertEquals(map, codec.decode(codec.encode(map)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CodecFormat.class, names = {"SMILE", "CBOR"})
+    void roundTripPojo(CodecFormat format) throws Exception {
+        CompactCodec codec = new CompactCodec(format, 0);
+        Sample sample = new Sample("样例", 3L, LocalDateTime.of(2024, 1, 2, 3, 4, 5), new ArrayList<>(List.of(1L, 2L)));
+
+        assertEquals(sample, codec.decode(codec.encode(sample)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CodecFormat.class, names = {"SMILE", "CBOR"})
+    void roundTripCompressed(CodecFormat format) throws Exception {
+        CompactCodec codec = new CompactCodec(format, 64);
+        String value = "重复内容".repeat(256);
+
+        byte[] bytes = codec.encode(value);
+        assertTrue(CompactCodec.isCompact(bytes));
+        assertTrue(bytes.length < value.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(value, codec.decode(bytes));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CodecFormat.class, names = {"SMILE", "CBOR"})
+    void encodedFrameIsDistinguishableFromJson(CodecFormat format) throws Exception {
+        CompactCodec codec = new CompactCodec(format, 0);
+
+        assertTrue(CompactCodec.isCompact(codec.encode("value")));
+        assertFalse(CompactCodec.isCompact("\"value\"".getBytes()));
+        assertThrows(Exception.class, () -> codec.decode("\"value\"".getBytes()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CodecFormat.class, names = {"SMILE", "CBOR"})
+    void encodingIsStable(CodecFormat format) throws Exception {
+        CompactCodec codec = new CompactCodec(format, 0);
+
+        assertArrayEquals(codec.encode(List.of(1L, 2L)), codec.encode(List.of(1L, 2L)));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sample {
+
+        private String name;
+        private Long count;
+        private LocalDateTime time;
+        private List<Long> ids;
+
+    }
+
+}
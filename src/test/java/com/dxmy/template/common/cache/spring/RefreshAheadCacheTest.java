@@ -0,0 +1,129 @@
+package com.dxmy.template.common.cache.spring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RefreshAheadCacheTest {
+
+    private AnnotationConfigApplicationContext context;
+    private GreetingService greetingService;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        greetingService = context.getBean(GreetingService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void refreshesThroughProxyWithSameArguments() {
+        assertEquals("hello alice 1", greetingService.greet("alice"));
+
+        // 命中时触发刷新, 读取方仍获得旧值
+        assertEquals("hello alice 1", greetingService.greet("alice"));
+        assertEquals(2, greetingService.getCalls());
+        // 刷新经由代理调用, 缓存拦截器内层的拦截器 (如事务) 照常执行
+        assertEquals(2, context.getBean(CountingAspect.class).count.get());
+
+        // 刷新结果已写入缓存
+        assertEquals("hello alice 2", context.getBean(CacheManager.class).getCache("greeting").get("alice").get());
+    }
+
+    @Test
+    void skipsRefreshForProgrammaticAccess() {
+        RefreshAheadCache cache = (RefreshAheadCache) context.getBean(CacheManager.class).getCache("greeting");
+        cache.put("bob", "cached");
+
+        assertEquals("cached", cache.get("bob", () -> "loaded"));
+        assertEquals(0, greetingService.getCalls());
+    }
+
+    @Configuration
+    @EnableCaching
+    @EnableAspectJAutoProxy
+    static class TestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            RefreshSpec spec = new RefreshSpec();
+            spec.setMode(RefreshMode.REFRESH_AFTER_WRITE);
+            spec.setRefreshAfterWrite(Duration.ZERO);
+            SimpleCacheManager cacheManager = new SimpleCacheManager();
+            cacheManager.setCaches(List.of(new RefreshAheadCache(new ConcurrentMapCache("greeting"), spec,
+                    RedisCacheWriter.TtlFunction.just(Duration.ofMinutes(1)), Runnable::run)));
+            return cacheManager;
+        }
+
+        @Bean
+        CacheInvocationAspect cacheInvocationAspect() {
+            return new CacheInvocationAspect();
+        }
+
+        @Bean
+        CountingAspect countingAspect() {
+            return new CountingAspect();
+        }
+
+        @Bean
+        GreetingService greetingService() {
+            return new GreetingService();
+        }
+
+    }
+
+    /**
+     * 与缓存拦截器同为最低优先级, 位于其内层
+     */
+    @Aspect
+    static class CountingAspect {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Around("execution(* com.dxmy.template.common.cache.spring.RefreshAheadCacheTest.GreetingService.greet(..))")
+        public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+            count.incrementAndGet();
+            return joinPoint.proceed();
+        }
+
+    }
+
+    static class GreetingService {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Cacheable(cacheNames = "greeting", sync = true)
+        public String greet(String name) {
+            return "hello " + name + " " + calls.incrementAndGet();
+        }
+
+        public int getCalls() {
+            return calls.get();
+        }
+
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.dxmy.template.common.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RFuture;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateLimiterConfig;
+import org.redisson.api.RateType;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeasedTokenBucketTest {
+
+    private static final long RATE = 100;
+    private static final long INTERVAL_MILLIS = 1000;
+    private static final int LEASE_SIZE = 10;
+    private static final Duration KEY_TTL = Duration.ofMinutes(1);
+    private static final Duration BACKOFF = Duration.ofSeconds(5);
+
+    private RRateLimiter rateLimiter;
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+    private FailOpenWindow failOpenWindow;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = mock(RRateLimiter.class);
+        failOpenWindow = new FailOpenWindow(BACKOFF, now::get);
+        when(rateLimiter.trySetRateAsync(RateType.OVERALL, RATE, INTERVAL_MILLIS, RateIntervalUnit.MILLISECONDS))
+                .thenReturn(completed(true));
+    }
+
+    private LeasedTokenBucket createBucket() {
+        return new LeasedTokenBucket(rateLimiter, RATE, INTERVAL_MILLIS, LEASE_SIZE, KEY_TTL, failOpenWindow, now::get);
+    }
+
+    private static <T> RFuture<T> completed(T value) {
+        return new CompletableFutureWrapper<>(value);
+    }
+
+    @Test
+    void consumesLocalTokensBeforeLeasingAgain() {
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(completed(true));
+        LeasedTokenBucket bucket = createBucket();
+
+        for (int i = 0; i < LEASE_SIZE; i++)
+            assertTrue(bucket.tryAcquire());
+        verify(rateLimiter, times(1)).tryAcquireAsync(LEASE_SIZE);
+
+        assertTrue(bucket.tryAcquire());
+        verify(rateLimiter, times(2)).tryAcquireAsync(LEASE_SIZE);
+    }
+
+    @Test
+    void fallsBackToSingleTokenWhenBatchIsUnavailable() {
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(completed(false));
+        when(rateLimiter.tryAcquireAsync()).thenReturn(completed(true));
+        LeasedTokenBucket bucket = createBucket();
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        verify(rateLimiter, times(2)).tryAcquireAsync(LEASE_SIZE);
+        verify(rateLimiter, times(2)).tryAcquireAsync();
+    }
+
+    @Test
+    void rejectsLocallyForOneTokenIntervalAfterRedisRejects() {
+        when(rateLimiter.tryAcquireAsync(anyLong())).thenReturn(completed(false));
+        when(rateLimiter.tryAcquireAsync()).thenReturn(completed(false));
+        LeasedTokenBucket bucket = createBucket();
+
+        assertFalse(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        verify(rateLimiter, times(1)).tryAcquireAsync(LEASE_SIZE);
+
+        // 一个令牌的生成时间为 10 毫秒, 过后重新访问 Redis
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        assertFalse(bucket.tryAcquire());
+        verify(rateLimiter, times(2)).tryAcquireAsync(LEASE_SIZE);
+    }
+
+    @Test
+    void discardsLeasedTokensAfterInterval() {
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(completed(true));
+        LeasedTokenBucket bucket = createBucket();
+
+        assertTrue(bucket.tryAcquire());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(INTERVAL_MILLIS));
+        assertTrue(bucket.tryAcquire());
+        verify(rateLimiter, times(2)).tryAcquireAsync(LEASE_SIZE);
+    }
+
+    @Test
+    void leasesOncePerBatchUnderContention() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(1);
+            inFlight.decrementAndGet();
+            return completed(true);
+        });
+        LeasedTokenBucket bucket = createBucket();
+
+        int threads = 8;
+        int acquiresPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++)
+            futures.add(executor.submit(() -> {
+                start.await();
+                int acquired = 0;
+                for (int j = 0; j < acquiresPerThread; j++)
+                    if (bucket.tryAcquire())
+                        acquired++;
+                return acquired;
+            }));
+        start.countDown();
+
+        int acquired = 0;
+        for (Future<Integer> future : futures)
+            acquired += future.get(10, TimeUnit.SECONDS);
+        executor.shutdownNow();
+
+        // 每个令牌恰好被一个请求取得, 每批令牌只预取一次, 且同一时刻最多一个预取
+        assertEquals(threads * acquiresPerThread, acquired);
+        verify(rateLimiter, times(threads * acquiresPerThread / LEASE_SIZE)).tryAcquireAsync(LEASE_SIZE);
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void rejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LeasedTokenBucket(rateLimiter, 0, INTERVAL_MILLIS, LEASE_SIZE, KEY_TTL, failOpenWindow));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LeasedTokenBucket(rateLimiter, -1, INTERVAL_MILLIS, LEASE_SIZE, KEY_TTL, failOpenWindow));
+    }
+
+    @Test
+    void keepsExistingRateWhenUnchanged() {
+        when(rateLimiter.trySetRateAsync(RateType.OVERALL, RATE, INTERVAL_MILLIS, RateIntervalUnit.MILLISECONDS))
+                .thenReturn(completed(false));
+        when(rateLimiter.getConfigAsync()).thenReturn(completed(new RateLimiterConfig(RateType.OVERALL, INTERVAL_MILLIS, RATE)));
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(completed(true));
+
+        assertTrue(createBucket().tryAcquire());
+
+        verify(rateLimiter, never()).setRateAsync(eq(RateType.OVERALL), anyLong(), anyLong(), eq(RateIntervalUnit.MILLISECONDS));
+    }
+
+    @Test
+    void resetsRateWhenAnnotationChanged() {
+        when(rateLimiter.trySetRateAsync(RateType.OVERALL, RATE, INTERVAL_MILLIS, RateIntervalUnit.MILLISECONDS))
+                .thenReturn(completed(false));
+        when(rateLimiter.getConfigAsync()).thenReturn(completed(new RateLimiterConfig(RateType.OVERALL, INTERVAL_MILLIS, RATE / 2)));
+        when(rateLimiter.setRateAsync(RateType.OVERALL, RATE, INTERVAL_MILLIS, RateIntervalUnit.MILLISECONDS))
+                .thenReturn(completed(null));
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(completed(true));
+
+        assertTrue(createBucket().tryAcquire());
+
+        verify(rateLimiter).setRateAsync(RateType.OVERALL, RATE, INTERVAL_MILLIS, RateIntervalUnit.MILLISECONDS);
+    }
+
+    @Test
+    void appliesRateOnceOnFirstRefill() {
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(completed(true));
+
+        LeasedTokenBucket bucket = createBucket();
+        verifyNoInteractions(rateLimiter);
+
+        for (int i = 0; i < LEASE_SIZE * 3; i++)
+            assertTrue(bucket.tryAcquire());
+        verify(rateLimiter, times(1)).trySetRateAsync(RateType.OVERALL, RATE, INTERVAL_MILLIS, RateIntervalUnit.MILLISECONDS);
+    }
+
+    @Test
+    void failsOpenWithoutRedisCallsAfterRedisError() {
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(new CompletableFutureWrapper<>(new IllegalStateException("连接断开")));
+        LeasedTokenBucket bucket = createBucket();
+
+        for (int i = 0; i < 100; i++)
+            assertTrue(bucket.tryAcquire());
+        verify(rateLimiter, times(1)).tryAcquireAsync(LEASE_SIZE);
+
+        // 窗口结束后重新访问 Redis
+        now.addAndGet(BACKOFF.toNanos());
+        assertTrue(bucket.tryAcquire());
+        verify(rateLimiter, times(2)).tryAcquireAsync(LEASE_SIZE);
+    }
+
+    @Test
+    void failsOpenWhenRedisDoesNotRespond() {
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(new CompletableFutureWrapper<>(new CompletableFuture<>()));
+        LeasedTokenBucket bucket = createBucket();
+
+        long start = System.nanoTime();
+        assertTrue(bucket.tryAcquire());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertTrue(failOpenWindow.isOpen());
+    }
+
+    @Test
+    void sharesFailOpenWindowAcrossBuckets() {
+        when(rateLimiter.tryAcquireAsync(LEASE_SIZE)).thenReturn(new CompletableFutureWrapper<>(new IllegalStateException("连接断开")));
+        assertTrue(createBucket().tryAcquire());
+
+        assertTrue(createBucket().tryAcquire());
+        assertTrue(createBucket().tryAcquire());
+        verify(rateLimiter, times(1)).tryAcquireAsync(LEASE_SIZE);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.dxmy.template.common.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonLogEncoderTest {
+
+    private final JsonLogEncoder encoder = new JsonLogEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesTimeInUtc() throws Exception {
+        LoggingEvent event = createEvent("用户登录", Map.of());
+        event.setTimeStamp(Instant.parse("2024-03-31T01:59:59.007Z").toEpochMilli());
+
+        assertEquals("2024-03-31T01:59:59.007Z", encode(event).get("time").asText());
+    }
+
+    @Test
+    void writesMdcFields() throws Exception {
+        JsonNode json = encode(createEvent("用户登录", Map.of("traceId", "abc", "userId", "42")));
+
+        assertEquals("abc", json.get("traceId").asText());
+        assertEquals("42", json.get("userId").asText());
+        assertEquals("用户登录", json.get("message").asText());
+    }
+
+    @Test
+    void prefixesMdcKeysCollidingWithReservedFields() throws Exception {
+        JsonNode json = encode(createEvent("用户登录", Map.of("message", "来自 MDC", "level", "custom")));
+
+        assertEquals("用户登录", json.get("message").asText());
+        assertEquals("INFO", json.get("level").asText());
+        assertEquals("来自 MDC", json.get("mdc.message").asText());
+        assertEquals("custom", json.get("mdc.level").asText());
+    }
+
+    @Test
+    void stripsAnsiEscapes() throws Exception {
+        JsonNode json = encode(createEvent("\u001B[31m错误\u001B[0m \"引号\"", Map.of()));
+
+        assertEquals("错误 \"引号\"", json.get("message").asText());
+    }
+
+    private JsonNode encode(LoggingEvent event) throws Exception {
+        return objectMapper.readTree(new String(encoder.encode(event), StandardCharsets.UTF_8));
+    }
+
+    private static LoggingEvent createEvent(String message, Map<String, String> mdc) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(Level.INFO);
+        event.setLoggerName("com.example.UserService");
+        event.setThreadName("main");
+        event.setMessage(message);
+        event.setTimeStamp(System.currentTimeMillis());
+        event.setMDCPropertyMap(mdc);
+        return event;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.dxmy.template.common.log.method;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SysLogArchiverTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2024, 3);
+
+    @Test
+    void parsesMonthPartitionName() {
+        assertEquals(YearMonth.of(2024, 1), SysLogArchiver.parsePartitionMonth("p202401"));
+        assertEquals(YearMonth.of(2023, 12), SysLogArchiver.parsePartitionMonth("p202312"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {SysLogArchiver.FUTURE_PARTITION, "p2024", "p2024011", "P202401", "p202413", "p202400", "x202401"})
+    void ignoresOtherPartitionNames(String partition) {
+        assertNull(SysLogArchiver.parsePartitionMonth(partition));
+    }
+
+    @Test
+    void formatsPartitionNameReversibly() {
+        YearMonth month = YearMonth.of(2024, 2);
+
+        assertEquals("p202402", SysLogArchiver.toPartitionName(month));
+        assertEquals(month, SysLogArchiver.parsePartitionMonth(SysLogArchiver.toPartitionName(month)));
+    }
+
+    @Test
+    void keepsRetentionMonthsIncludingCurrentMonth() {
+        assertEquals(YearMonth.of(2023, 10), SysLogArchiver.archiveCutoff(CURRENT_MONTH, 6));
+        assertEquals(YearMonth.of(2023, 3), SysLogArchiver.archiveCutoff(CURRENT_MONTH, 13));
+    }
+
+    @Test
+    void neverArchivesCurrentMonth() {
+        assertEquals(CURRENT_MONTH, SysLogArchiver.archiveCutoff(CURRENT_MONTH, 1));
+        assertEquals(CURRENT_MONTH, SysLogArchiver.archiveCutoff(CURRENT_MONTH, 0));
+    }
+
+    @Test
+    void continuesAfterLastMonthPartition() {
+        List<YearMonth> months = SysLogArchiver.planPartitions(YearMonth.of(2024, 3), null, null, CURRENT_MONTH, 2);
+
+        assertEquals(List.of(YearMonth.of(2024, 4), YearMonth.of(2024, 5)), months);
+    }
+
+    @Test
+    void fillsMonthsMissedSinceLastRun() {
+        List<YearMonth> months = SysLogArchiver.planPartitions(YearMonth.of(2023, 12), null, null, CURRENT_MONTH, 1);
+
+        assertEquals(List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3), YearMonth.of(2024, 4)),
+                months);
+    }
+
+    @Test
+    void createsNothingWhenAheadMonthsExist() {
+        assertTrue(SysLogArchiver.planPartitions(YearMonth.of(2024, 5), null, null, CURRENT_MONTH, 2).isEmpty());
+    }
+
+    @Test
+    void splitsExistingDataByMonthOnFirstRun() {
+        List<YearMonth> months = SysLogArchiver.planPartitions(null, YearMonth.of(2023, 11), YearMonth.of(2024, 3),
+                CURRENT_MONTH, 1);
+
+        assertEquals(List.of(YearMonth.of(2023, 11), YearMonth.of(2023, 12), YearMonth.of(2024, 1),
+                YearMonth.of(2024, 2), YearMonth.of(2024, 3), YearMonth.of(2024, 4)), months);
+    }
+
+    @Test
+    void startsFromCurrentMonthOnFirstRunWithoutData() {
+        assertEquals(List.of(CURRENT_MONTH, YearMonth.of(2024, 4)),
+                SysLogArchiver.planPartitions(null, null, null, CURRENT_MONTH, 1));
+    }
+
+    @Test
+    void extendsToLatestDataMonth() {
+        List<YearMonth> months = SysLogArchiver.planPartitions(YearMonth.of(2024, 3), null, YearMonth.of(2024, 6),
+                CURRENT_MONTH, 1);
+
+        assertEquals(List.of(YearMonth.of(2024, 4), YearMonth.of(2024, 5), YearMonth.of(2024, 6)), months);
+    }
+
+}
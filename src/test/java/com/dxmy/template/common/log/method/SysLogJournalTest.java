@@ -0,0 +1,284 @@
+package com.dxmy.template.common.log.method;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import static com.dxmy.template.common.log.method.SysLogRecordCodecTest.assertSameLogs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SysLogJournalTest {
+
+    /** 分段头长度 */
+    private static final int HEADER_LENGTH = 16;
+    /** 记录头长度 */
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAppendedLogsInOrder() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> logs = createLogs(3);
+
+        assertEquals(3, journal.append(logs));
+        assertTrue(journal.hasPending());
+
+        List<SysLog> replayed = new ArrayList<>();
+        assertEquals(3, journal.replay(10, collectTo(replayed)));
+        assertSameLogs(logs, replayed);
+        assertFalse(journal.hasPending());
+    }
+
+    @Test
+    void resumesFromFirstUnprocessedLog() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> logs = createLogs(3);
+        journal.append(logs);
+
+        // 仅处理第一条, 模拟写入第二条时数据库断开
+        assertEquals(1, journal.replay(10, batch -> 1));
+        assertTrue(journal.hasPending());
+
+        List<SysLog> replayed = new ArrayList<>();
+        assertEquals(2, journal.replay(10, collectTo(replayed)));
+        assertSameLogs(logs.subList(1, 3), replayed);
+    }
+
+    @Test
+    void keepsReplayOffsetWhenSinkFails() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        journal.append(createLogs(2));
+
+        assertEquals(0, journal.replay(10, batch -> 0));
+
+        List<SysLog> replayed = new ArrayList<>();
+        assertEquals(2, journal.replay(10, collectTo(replayed)));
+    }
+
+    @Test
+    void recoversPendingLogsAfterRestart() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> logs = createLogs(3);
+        journal.append(logs);
+        journal.replay(10, batch -> 1);
+        journal.close();
+
+        SysLogJournal recovered = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> replayed = new ArrayList<>();
+        assertEquals(2, recovered.replay(10, collectTo(replayed)));
+        assertSameLogs(logs.subList(1, 3), replayed);
+    }
+
+    @Test
+    void recoversUpToTornWrite() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> logs = createLogs(2);
+        journal.append(logs);
+        journal.close();
+
+        // 在最后一条记录之后写入长度字段, 但负载与校验和未写入
+        Path segment = listSegments().get(0);
+        int end = recordEnd(segment, 2);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(end);
+            file.writeInt(100);
+        }
+
+        SysLogJournal recovered = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> replayed = new ArrayList<>();
+        assertEquals(2, recovered.replay(10, collectTo(replayed)));
+        assertSameLogs(logs, replayed);
+    }
+
+    @Test
+    void discardsRecordsFromCrcMismatch() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> logs = createLogs(3);
+        journal.append(logs);
+        journal.close();
+
+        // 破坏第二条记录的负载, 第二条及之后的记录均被丢弃
+        Path segment = listSegments().get(0);
+        int secondRecord = recordEnd(segment, 1);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(secondRecord + RECORD_HEADER_LENGTH);
+            int first = file.read();
+            file.seek(secondRecord + RECORD_HEADER_LENGTH);
+            file.write(first ^ 0xFF);
+        }
+
+        SysLogJournal recovered = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> replayed = new ArrayList<>();
+        assertEquals(1, recovered.replay(10, collectTo(replayed)));
+        assertSameLogs(logs.subList(0, 1), replayed);
+    }
+
+    @Test
+    void skipsCorruptedRecordDuringReplay() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        List<SysLog> logs = createLogs(3);
+        journal.append(logs);
+
+        // 运行中破坏第二条记录的负载, 仅跳过该记录
+        Path segment = listSegments().get(0);
+        int secondRecord = recordEnd(segment, 1);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(secondRecord + RECORD_HEADER_LENGTH);
+            int first = file.read();
+            file.seek(secondRecord + RECORD_HEADER_LENGTH);
+            file.write(first ^ 0xFF);
+        }
+
+        List<SysLog> replayed = new ArrayList<>();
+        assertEquals(2, journal.replay(10, collectTo(replayed)));
+        assertSameLogs(List.of(logs.get(0), logs.get(2)), replayed);
+        assertFalse(journal.hasPending());
+    }
+
+    @Test
+    void tryAppendUsesPreparedSegmentOnly() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 8);
+
+        // 写满当前分段与预先创建的分段后不再创建文件
+        int appended = 0;
+        while (journal.tryAppend(createLogs(1).get(0)))
+            appended++;
+        assertTrue(appended > 0);
+        assertEquals(2, listSegments().size());
+
+        journal.prepareSegment();
+        assertTrue(journal.tryAppend(createLogs(1).get(0)));
+        assertEquals(3, listSegments().size());
+        assertEquals(appended + 1, journal.replay(1000, batch -> batch.size()));
+    }
+
+    @Test
+    void rollsOverAndDeletesReplayedSegments() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 8);
+        List<SysLog> logs = createLogs(100);
+
+        assertEquals(100, journal.append(logs));
+        assertTrue(listSegments().size() > 1);
+
+        List<SysLog> replayed = new ArrayList<>();
+        assertEquals(100, journal.replay(10, collectTo(replayed)));
+        assertSameLogs(logs, replayed);
+
+        // 已写满的分段全部删除, 仅保留当前写入的分段
+        assertEquals(1, listSegments().size());
+    }
+
+    @Test
+    void removesSegmentSealedAfterReplay() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 8);
+
+        // 每次写入后立即重放, 第一个分段在全部重放后才因写满而滚动到预先创建的分段
+        Path next = listSegments().get(1);
+        while (!hasRecords(next)) {
+            journal.append(createLogs(1));
+            if (!hasRecords(next))
+                journal.replay(10, batch -> batch.size());
+        }
+
+        // 不经重放即可删除已全部重放的分段, 新分段中的日志仍待重放
+        journal.removeDrained();
+        assertEquals(1, listSegments().size());
+        assertTrue(journal.hasPending());
+    }
+
+    @Test
+    void deletesDrainedSegmentsOnRecovery() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 4);
+        journal.append(createLogs(3));
+        journal.replay(10, batch -> batch.size());
+        journal.close();
+        List<Path> previous = listSegments();
+
+        new SysLogJournal(directory, SEGMENT_SIZE, 4);
+
+        // 上次运行已全部重放的分段与未使用的预建分段被删除, 仅保留新建的分段
+        List<Path> current = listSegments();
+        assertEquals(2, current.size());
+        assertTrue(current.stream().noneMatch(previous::contains));
+    }
+
+    @Test
+    void dropsLogsWhenJournalIsFull() throws IOException {
+        SysLogJournal journal = new SysLogJournal(directory, SEGMENT_SIZE, 2);
+
+        int appended = journal.append(createLogs(200));
+
+        assertTrue(appended < 200);
+        assertEquals(2, listSegments().size());
+        assertEquals(appended, journal.replay(1000, batch -> batch.size()));
+    }
+
+    private static ToIntFunction<List<SysLog>> collectTo(List<SysLog> replayed) {
+        return batch -> {
+            replayed.addAll(batch);
+            return batch.size();
+        };
+    }
+
+    private static List<SysLog> createLogs(int count) {
+        List<SysLog> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            logs.add(SysLog.builder()
+                           .title("日志 " + i)
+                           .type(0)
+                           .className("com.example.UserService")
+                           .methodName("update")
+                           .requestMethod("POST")
+                           .requestUri("/user/" + i)
+                           .costTime((long) i)
+                           .operatorId(1L)
+                           .completionTime(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i))
+                           .build());
+        return logs;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /**
+     * 分段中是否已写入记录
+     */
+    private static boolean hasRecords(Path segment) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            file.seek(HEADER_LENGTH);
+            return file.readInt() != 0;
+        }
+    }
+
+    /**
+     * 计算前 count 条记录的结束位置
+     */
+    private static int recordEnd(Path segment, int count) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            int position = HEADER_LENGTH;
+            for (int i = 0; i < count; i++) {
+                file.seek(position);
+                position += RECORD_HEADER_LENGTH + file.readInt();
+            }
+            return position;
+        }
+    }
+
+}
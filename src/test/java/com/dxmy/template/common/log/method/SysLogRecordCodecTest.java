@@ -0,0 +1,74 @@
+package com.dxmy.template.common.log.method;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SysLogRecordCodecTest {
+
+    @Test
+    void roundTripsAllFields() throws Exception {
+        SysLog sysLog = SysLog.builder()
+                              .title("用户登录")
+                              .type(9)
+                              .className("com.example.service.UserService")
+                              .methodName("loginUser")
+                              .methodArgs(new Object[]{"admin", 3, List.of("a", "b")})
+                              .methodReturn(Map.of("token", "abc"))
+                              .requestMethod("POST")
+                              .requestUri("/login")
+                              .costTime(1234L)
+                              .exception("java.lang.IllegalStateException: 失败")
+                              .operatorId(42L)
+                              .completionTime(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789))
+                              .build();
+
+        assertSameLog(sysLog, SysLogRecordCodec.decode(SysLogRecordCodec.encode(sysLog)));
+    }
+
+    @Test
+    void roundTripsNullFields() throws Exception {
+        SysLog sysLog = SysLog.builder().build();
+
+        SysLog decoded = SysLogRecordCodec.decode(SysLogRecordCodec.encode(sysLog));
+
+        assertSameLog(sysLog, decoded);
+        assertNull(decoded.getMethodArgs());
+        assertNull(decoded.getCompletionTime());
+    }
+
+    @Test
+    void roundTripsEmptyStrings() throws Exception {
+        SysLog sysLog = SysLog.builder().title("").requestUri("").exception("").build();
+
+        assertSameLog(sysLog, SysLogRecordCodec.decode(SysLogRecordCodec.encode(sysLog)));
+    }
+
+    @Test
+    void rejectsTruncatedRecord() throws Exception {
+        byte[] encoded = SysLogRecordCodec.encode(SysLog.builder().title("用户登录").operatorId(1L).build());
+        byte[] truncated = new byte[encoded.length / 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+        assertThrows(IOException.class, () -> SysLogRecordCodec.decode(truncated));
+    }
+
+    /**
+     * 逐字段比较, SysLog 的 equals 调用父类 Model 的 equals, 仅同一对象相等
+     */
+    static void assertSameLog(SysLog expected, SysLog actual) {
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    static void assertSameLogs(List<SysLog> expected, List<SysLog> actual) {
+        assertThat(actual).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.dxmy.template.common.log.method;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SysLogWriterTest {
+
+    private SysLogMapper sysLogMapper;
+    private SysLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        sysLogMapper = mock(SysLogMapper.class);
+        writer = new SysLogWriter();
+        ReflectionTestUtils.setField(writer, "sysLogMapper", sysLogMapper);
+        ReflectionTestUtils.setField(writer, "buffer", new ArrayBlockingQueue<SysLog>(1));
+    }
+
+    @Test
+    void skipsLogsThatCannotBeInserted() {
+        SysLog bad = createLog("bad");
+        List<SysLog> inserted = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<SysLog> logs = invocation.getArgument(0);
+            if (logs.contains(bad))
+                throw new DataIntegrityViolationException("Data too long");
+            inserted.addAll(logs);
+            return logs.size();
+        }).when(sysLogMapper).insertBatch(anyList());
+
+        SysLog first = createLog("first");
+        SysLog last = createLog("last");
+        flush(List.of(first, bad, last));
+
+        assertEquals(List.of(first, last), inserted);
+        assertEquals(1, writer.getDroppedCount());
+        assertTrue((Boolean) ReflectionTestUtils.getField(writer, "databaseAvailable"));
+    }
+
+    @Test
+    void dropsBatchWhenDatabaseIsUnavailableWithoutJournal() {
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .when(sysLogMapper).insertBatch(anyList());
+
+        flush(List.of(createLog("first"), createLog("second")));
+
+        // 连接失败不逐条重试
+        verify(sysLogMapper).insertBatch(anyList());
+        assertEquals(2, writer.getDroppedCount());
+    }
+
+    @Test
+    void spillDropsWithoutJournal() {
+        writer.write(createLog("buffered"));
+        writer.write(createLog("overflow"));
+
+        assertEquals(1, writer.getDroppedCount());
+        assertEquals(0, writer.getSpilledCount());
+        verify(sysLogMapper, never()).insertBatch(anyList());
+    }
+
+    private void flush(List<SysLog> batch) {
+        ReflectionTestUtils.invokeMethod(writer, "flush", batch);
+    }
+
+    private static SysLog createLog(String title) {
+        return SysLog.builder().title(title).build();
+    }
+
+}
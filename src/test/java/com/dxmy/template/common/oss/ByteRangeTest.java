@@ -0,0 +1,83 @@
+package com.dxmy.template.common.oss;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ByteRangeTest {
+
+    private static final long SIZE = 1000;
+
+    @Test
+    void parsesClosedRange() {
+        assertRange(0, 499, ByteRange.parse("bytes=0-499", SIZE));
+        assertRange(500, 500, ByteRange.parse("bytes=500-500", SIZE));
+    }
+
+    @Test
+    void clampsEndToContentLength() {
+        assertRange(900, 999, ByteRange.parse("bytes=900-5000", SIZE));
+    }
+
+    @Test
+    void parsesOpenRange() {
+        assertRange(100, 999, ByteRange.parse("bytes=100-", SIZE));
+        assertRange(999, 999, ByteRange.parse("bytes=999-", SIZE));
+    }
+
+    @Test
+    void parsesSuffixRange() {
+        assertRange(900, 999, ByteRange.parse("bytes=-100", SIZE));
+    }
+
+    @Test
+    void clampsSuffixLongerThanContent() {
+        assertRange(0, 999, ByteRange.parse("bytes=-5000", SIZE));
+    }
+
+    @Test
+    void rejectsZeroLengthSuffix() {
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", SIZE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=1000-", "bytes=1000-2000", "bytes=5000-"})
+    void rejectsStartBeyondContent(String header) {
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse(header, SIZE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=0-", "bytes=0-10", "bytes=-10"})
+    void rejectsAnyRangeOfEmptyContent(String header) {
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse(header, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=0-1,5-10", "bytes=0-1, -10"})
+    void ignoresMultipleRanges(String header) {
+        assertNull(ByteRange.parse(header, SIZE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=500-100", "items=0-10", "bytes=abc", "bytes=a-b", "bytes=-", "bytes=--10",
+            "bytes=+5-10", "bytes=5-+10", "bytes=-+10", "bytes=0x10-", "0-10"})
+    void ignoresInvalidRange(String header) {
+        assertNull(ByteRange.parse(header, SIZE));
+    }
+
+    @Test
+    void ignoresMissingHeader() {
+        assertNull(ByteRange.parse(null, SIZE));
+    }
+
+    private static void assertRange(long start, long end, ByteRange range) {
+        assertEquals(start, range.getStart());
+        assertEquals(end, range.getEnd());
+        assertEquals(end - start + 1, range.getLength());
+    }
+
+}